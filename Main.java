@@ -1,4 +1,5 @@
 import algo.heuristic.BIBAHeuristic;
+import algo.metaheuristic.AsyncConsoleListener;
 import algo.metaheuristic.LAHCMetaheuristic;
 import domain.Instance;
 import domain.Job;
@@ -48,8 +49,12 @@ public class Main {
         //temps d'exécution
         long startTime = System.currentTimeMillis();
         
-        // RÉSOUDRE
-        Solution solution = lahc.solve(instance);
+        // RÉSOUDRE (progression affichée par un thread à part, pas depuis la boucle LAHC)
+        Solution solution;
+        try (AsyncConsoleListener console = new AsyncConsoleListener()) {
+            lahc.setListener(console);
+            solution = lahc.solve(instance);
+        }
         
         long endTime = System.currentTimeMillis();
         long executionTime = endTime - startTime;
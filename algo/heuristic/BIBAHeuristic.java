@@ -26,18 +26,35 @@ public class BIBAHeuristic implements Heuristic {
     public Solution buildInitialSolution(Instance instance) 
     {
         Solution solution = new Solution(instance);
+        int numJobs = instance.getNumberOfJobs();
+        int numMachines = instance.getNumberOfMachines();
         
         //ensemble des jobs restants à assigner
-        Set<Job> remainingJobs = new HashSet<>();
-        for (int i = 0; i < instance.getNumberOfJobs(); i++) 
+        //on ne garde que l'ordre de parcours du HashSet (les égalités sont départagées par cet ordre, comme avant)
+        //retirer un élément ne change pas l'ordre des autres => un tableau + des flags suffisent
+        Set<Job> jobSet = new HashSet<>();
+        for (int i = 0; i < numJobs; i++) 
         {
-            remainingJobs.add(instance.getJob(i));
+            jobSet.add(instance.getJob(i));
         }
+        int[] order = new int[numJobs];
+        int o = 0;
+        for (Job job : jobSet) {
+            order[o++] = job.getId();
+        }
+        boolean[] assigned = new boolean[numJobs];
+        
+        //état de chaque machine : dernier job (-1 si vide) et date de fin
+        //un ajout en fin de séquence ne dépend que de ça => évaluation en O(1), sans copie de la solution
+        int[] lastJob = new int[numMachines];
+        int[] completion = new int[numMachines];
+        Arrays.fill(lastJob, -1);
+        int makespan = 0;
         
         //on assign itérativement chaque job
-        while (!remainingJobs.isEmpty()) 
+        for (int round = 0; round < numJobs; round++) 
         {
-            InsertionMove bestMove = findBestInsertion(remainingJobs, solution); //helper function to find the best insertion
+            InsertionMove bestMove = findBestInsertion(order, assigned, lastJob, completion, makespan, instance); //helper function to find the best insertion
             
             if (bestMove == null) //TODO : faire avec une exception custom ?
             {
@@ -45,11 +62,15 @@ public class BIBAHeuristic implements Heuristic {
             }
             
             // meilleure insertion
-            Schedule schedule = solution.getSchedule(bestMove.machine);
-            schedule.addJob(bestMove.job);
+            int j = bestMove.job.getId();
+            int k = bestMove.machine.getId();
+            solution.getSchedule(k).addJob(bestMove.job);
+            completion[k] = appendCompletion(j, k, lastJob[k], completion[k], instance);
+            lastJob[k] = j;
+            makespan = bestMove.makespan;
             
             // on retire le job assigné des jobs restants à assigner
-            remainingJobs.remove(bestMove.job);
+            assigned[j] = true;
         }
         
         // final makespan 
@@ -60,43 +81,43 @@ public class BIBAHeuristic implements Heuristic {
 
     
     //helper function to find the best insertion move for the current solution (called in the main loop)
-    private InsertionMove findBestInsertion(Set<Job> remainingJobs, Solution solution) {
-        InsertionMove bestMove = null;
+    private InsertionMove findBestInsertion(int[] order, boolean[] assigned, int[] lastJob, int[] completion, int makespan, Instance instance) {
+        int bestJob = -1;
+        int bestMachine = -1;
         int bestMakespan = Integer.MAX_VALUE;
 
         //parse each remaining job (like the none assigned ones)
-        for (Job job : remainingJobs) {
+        for (int j : order) {
+            if (assigned[j]) {
+                continue;
+            }
             //each machine 
-            for (int m = 0; m < solution.getNumberOfMachines(); m++) 
+            for (int k = 0; k < completion.length; k++) 
             {
-                Machine machine = solution.getInstance().getMachine(m);
-                
                 //we evaluate the insertion at the end of the machine bc 
-                int makespan = evaluateInsertion(job, machine, solution);
+                //seule la machine k bouge et sa date de fin ne peut qu'augmenter
+                int candidate = Math.max(makespan, appendCompletion(j, k, lastJob[k], completion[k], instance));
                 
                 //meilleure insertion
-                if (makespan < bestMakespan) 
+                if (candidate < bestMakespan) 
                 {
-                    bestMakespan = makespan;
-                    bestMove = new InsertionMove(job, machine, makespan);
+                    bestMakespan = candidate;
+                    bestJob = j;
+                    bestMachine = k;
                 }
             }
         }
         //meilleur mouvement d'insertion
-        return bestMove;
+        if (bestJob < 0) {
+            return null;
+        }
+        return new InsertionMove(instance.getJob(bestJob), instance.getMachine(bestMachine), bestMakespan);
     }
     
-   //same : helper function to evaluate the insertion of a job at the end of a machine 
-    private int evaluateInsertion(Job job, Machine machine, Solution solution) {
-        // copie pour tester l'insertion //TODO en faire une explication dans le rapport (trouver un truc sur l'effet de bord ?) //TODO
-        Solution testSolution = solution.copy();
-        Schedule testSchedule = testSolution.getSchedule(machine);
-        
-        //on le fout à la fin 
-        testSchedule.addJob(job);
-        
-        //calcul new makespan
-        testSolution.calculateMakespan();
-        return testSolution.getMakespan();
+   //same : date de fin de la machine si on ajoute le job j à la fin (même formule que Schedule)
+    private static int appendCompletion(int j, int k, int last, int completion, Instance instance) {
+        return Math.max(completion, instance.releaseDate(j))
+             + instance.setupTime((last < 0) ? j : last, j, k)
+             + instance.processingTime(j, k);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package algo.localsearch;
+
+import domain.*;
+
+/**
+ * Listes de candidats pour l'insertion d'un job sur une machine : les size jobs dont le setup
+ * vers ce job (prédécesseurs) ou depuis ce job (successeurs) est le plus petit sur cette machine.
+ * 
+ * Insérer j juste après un de ses meilleurs prédécesseurs ou juste avant un de ses meilleurs successeurs
+ * couvre les bonnes positions sans tester toute la séquence : O(size) positions au lieu de O(n).
+ * 
+ * Calculées une fois par instance, en O(m * n^2 * size). Immutables => partageables entre threads.
+ */
+final class CandidateLists {
+    private final Instance instance;
+    private final int size;
+    private final int numJobs;
+    //[machine][job][rang] aplati, -1 si moins de size autres jobs
+    private final int[] predecessors;
+    private final int[] successors;
+    
+    CandidateLists(Instance instance, int size) {
+        this.instance = instance;
+        this.numJobs = instance.getNumberOfJobs();
+        this.size = Math.max(1, Math.min(size, Math.max(1, numJobs - 1)));
+        int numMachines = instance.getNumberOfMachines();
+        this.predecessors = new int[numMachines * numJobs * this.size];
+        this.successors = new int[numMachines * numJobs * this.size];
+        
+        int[] keys = new int[this.size];
+        for (int k = 0; k < numMachines; k++) {
+            for (int j = 0; j < numJobs; j++) {
+                int base = (k * numJobs + j) * this.size;
+                select(predecessors, base, keys, j, k, true);
+                select(successors, base, keys, j, k, false);
+            }
+        }
+    }
+    
+    Instance getInstance() {
+        return instance;
+    }
+    
+    int getSize() {
+        return size;
+    }
+    
+    //i-ème meilleur prédécesseur de job sur machine (-1 si absent)
+    int predecessor(int machine, int job, int rank) {
+        return predecessors[(machine * numJobs + job) * size + rank];
+    }
+    
+    int successor(int machine, int job, int rank) {
+        return successors[(machine * numJobs + job) * size + rank];
+    }
+    
+    //les size plus petits setups, par insertion dans un tableau trié (size est petit)
+    private void select(int[] out, int base, int[] keys, int j, int k, boolean before) {
+        int count = 0;
+        for (int i = 0; i < numJobs; i++) {
+            if (i == j) {
+                continue;
+            }
+            int key = before ? instance.setupTime(i, j, k) : instance.setupTime(j, i, k);
+            if (count == size && key >= keys[size - 1]) {
+                continue;
+            }
+            int pos = (count < size) ? count++ : size - 1;
+            while (pos > 0 && keys[pos - 1] > key) {
+                keys[pos] = keys[pos - 1];
+                out[base + pos] = out[base + pos - 1];
+                pos--;
+            }
+            keys[pos] = key;
+            out[base + pos] = i;
+        }
+        for (int r = count; r < size; r++) {
+            out[base + r] = -1;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package algo.localsearch;
+
+import java.util.concurrent.*;
+
+/**
+ * Recherche du meilleur candidat parmi count candidats indépendants (indices aplatis 0..count-1).
+ * 
+ * Chaque candidat reçoit une clé long : la plus petite gagne, Long.MAX_VALUE = rejeté.
+ * Égalité => le plus petit indice gagne, donc le résultat est le même qu'avec la boucle séquentielle,
+ * qu'on découpe ou non le parcours sur un ForkJoinPool.
+ * 
+ * Le scorer ne doit rien modifier (il est appelé depuis plusieurs threads en mode parallèle).
+ */
+final class CandidateScan {
+    static final long REJECTED = Long.MAX_VALUE;
+    
+    @FunctionalInterface
+    interface Scorer {
+        long score(int index);
+    }
+    
+    private CandidateScan() {
+    }
+    
+    //indice du meilleur candidat, -1 si tous sont rejetés
+    //pool == null ou count < threshold => séquentiel
+    static int best(int count, Scorer scorer, ForkJoinPool pool, int threshold) {
+        long[] best;
+        if (pool == null || count < threshold) {
+            best = scan(scorer, 0, count);
+        } else {
+            best = pool.invoke(new ScanTask(scorer, 0, count, Math.max(1, threshold / 2)));
+        }
+        return (best[0] == REJECTED) ? -1 : (int) best[1];
+    }
+    
+    //{clé, indice} du meilleur candidat de [from, to)
+    private static long[] scan(Scorer scorer, int from, int to) {
+        long bestKey = REJECTED;
+        int bestIndex = -1;
+        for (int i = from; i < to; i++) {
+            long key = scorer.score(i);
+            if (key < bestKey) { //strict => premier indice gardé en cas d'égalité
+                bestKey = key;
+                bestIndex = i;
+            }
+        }
+        return new long[] { bestKey, bestIndex };
+    }
+    
+    private static final class ScanTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+        
+        private final Scorer scorer;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        
+        ScanTask(Scorer scorer, int from, int to, int leafSize) {
+            this.scorer = scorer;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+        
+        @Override
+        protected long[] compute() {
+            if (to - from <= leafSize) {
+                return scan(scorer, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scorer, from, mid, leafSize);
+            left.fork();
+            long[] right = new ScanTask(scorer, mid, to, leafSize).compute();
+            long[] leftBest = left.join();
+            //à clé égale la moitié gauche (indices plus petits) gagne
+            return (right[0] < leftBest[0]) ? right : leftBest;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package algo.localsearch;
 
+import algo.metrics.*;
 import domain.*;
 import java.util.*;
+import java.util.concurrent.*;
 import solution.*;
 
 /**
@@ -18,56 +20,245 @@ import solution.*;
 
 public class LocalSearch {
     
+    //évaluation parallèle des candidats (opérateurs 3 et 5) : null => séquentiel
+    private ForkJoinPool pool;
+    private int parallelThreshold = 4096; //en dessous de ce nombre de candidats, on reste séquentiel
+    
+    private long evaluationCount; //nombre de mouvements évalués depuis la création (cf SearchBudget)
+    
+    //plafonds de chaque appel de improve / improveInPlace (cf LocalSearchPolicy)
+    private int maxPasses = 100; //sécurité pour éviter boucle infinie
+    private long maxEvaluations; // <= 0 : pas de limite
+    private long evaluationLimit = Long.MAX_VALUE; //valeur de evaluationCount à ne pas dépasser pendant l'appel en cours
+    private boolean hasDeadline; //échéance du budget de temps de la recherche appelante
+    private long deadlineNanos;
+    private boolean deadlineActive; //pendant improveInPlace seulement, comme evaluationLimit
+    
+    //opérateur 5 : don't-look bits (toujours) et listes de candidats (si candidateListSize > 0)
+    private int candidateListSize;
+    private CandidateLists candidateLists;
+    private boolean[] dontLook = new boolean[0];
+    private int[] candidateBuffer = new int[0];
+    private int candidateCount;
+    private int[] positionStamp = new int[0]; //positionStamp[pos] == stamp => pos déjà ajoutée pour ce job
+    private int stamp;
+    
+    //balancing : machines non-goulot et début de leurs positions dans l'indice aplati
+    private int[] balancingTargets = new int[0];
+    private int[] balancingOffsets = new int[1];
+    
+    //parcours du voisinage de chaque opérateur (même ordre que OPERATOR_NAMES)
+    private final ScanStrategy[] strategies = {
+        ScanStrategy.BEST, ScanStrategy.BEST, ScanStrategy.BEST, ScanStrategy.BEST, ScanStrategy.BEST
+    };
+    
+    //les 5 opérateurs, dans l'ordre du papier
+    public enum Operator {
+        BOTTLENECK_INTERNAL_SWAP, BOTTLENECK_EXTERNAL_INSERTION, BOTTLENECK_EXTERNAL_SWAP,
+        BALANCING, INTER_MACHINE_INSERTION
+    }
+    
+    //compteurs par opérateur (cf SearchMetrics) : null => désactivé, pas même une lecture d'horloge
+    private OperatorMetrics[] metrics;
+    static final String[] OPERATOR_NAMES = {
+        "ls.bottleneckInternalSwap", "ls.bottleneckExternalInsertion", "ls.bottleneckExternalSwap",
+        "ls.balancing", "ls.interMachineInsertion"
+    };
+    
+    //tirage des machines cibles (opérateurs 2 et 3), un seul générateur pour toute la recherche
+    private final SplittableRandom random;
+    
+    public LocalSearch() {
+        this(new SplittableRandom());
+    }
+    
+    public LocalSearch(long seed) {
+        this(new SplittableRandom(seed));
+    }
+    
+    //own stream (e.g. random.split() from the LAHC that owns this local search)
+    public LocalSearch(SplittableRandom random) {
+        this.random = random;
+    }
+    
+    //active l'évaluation parallèle des candidats sur pool (null pour la désactiver)
+    //le résultat est identique au mode séquentiel (égalités départagées par indice)
+    public void setParallelism(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.parallelThreshold = threshold;
+    }
+    
+    public long getEvaluationCount() {
+        return evaluationCount;
+    }
+    
+    //opérateur 5 : n'évaluer que les positions voisines des size meilleurs prédécesseurs / successeurs
+    //de chaque job (setup), plus le début et la fin. 0 = toutes les positions (par défaut, comme le papier)
+    public void setCandidateListSize(int size) {
+        this.candidateListSize = Math.max(0, size);
+        this.candidateLists = null;
+    }
+    
+    //BEST (par défaut), FIRST ou bestOfSample(k) pour un opérateur
+    public void setScanStrategy(Operator operator, ScanStrategy strategy) {
+        strategies[operator.ordinal()] = (strategy == null) ? ScanStrategy.BEST : strategy;
+    }
+    
+    //même stratégie pour les 5 opérateurs
+    public void setScanStrategy(ScanStrategy strategy) {
+        for (Operator operator : Operator.values()) {
+            setScanStrategy(operator, strategy);
+        }
+    }
+    
+    public ScanStrategy getScanStrategy(Operator operator) {
+        return strategies[operator.ordinal()];
+    }
+    
+    public int getCandidateListSize() {
+        return candidateListSize;
+    }
+    
+    //nombre max de tours des 5 opérateurs par appel
+    public void setMaxPasses(int maxPasses) {
+        this.maxPasses = Math.max(1, maxPasses);
+    }
+    
+    //nombre max de mouvements évalués par appel (<= 0 : pas de limite), vérifié avant chaque opérateur
+    //et entre deux mouvements des opérateurs 4 et 5 => peut être dépassé d'un balayage de candidats
+    public void setMaxEvaluations(long maxEvaluations) {
+        this.maxEvaluations = maxEvaluations;
+    }
+    
+    //échéance (System.nanoTime) : improve / improveInPlace s'arrêtent avant l'opérateur suivant une fois
+    //l'échéance passée, et entre deux mouvements des opérateurs 4 et 5 (l'horloge n'est lue qu'avec une échéance)
+    public void setDeadline(long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadlineNanos = deadlineNanos;
+    }
+    
+    public void clearDeadline() {
+        hasDeadline = false;
+    }
+    
+    //null pour désactiver
+    public void setMetrics(SearchMetrics registry) {
+        if (registry == null) {
+            metrics = null;
+            return;
+        }
+        metrics = new OperatorMetrics[OPERATOR_NAMES.length];
+        for (int i = 0; i < metrics.length; i++) {
+            metrics[i] = registry.operator(OPERATOR_NAMES[i]);
+        }
+    }
+    
     //retourne la solution améliorée à partir de la solution initiale
     //applique les opérateurs jusqu'à ce qu'aucune amélioration ne soit trouvée de ce que j'ai compris du papier
     public Solution improve(Solution solution) {
-        Solution improved = solution.copy();
+        Solution improved = solution.copy(); //copy-on-write => seules les machines modifiées sont dupliquées
+        improveInPlace(improved);
+        return improved;
+    }
+    
+    //même chose mais modifie directement la solution passée en paramètre
+    public void improveInPlace(Solution improved) {
+        SearchEvents.LocalSearchPass event = new SearchEvents.LocalSearchPass(); //coût nul sans enregistrement JFR
+        event.begin();
+        long evaluationsBefore = evaluationCount;
+        int initialMakespan = improved.getMakespan();
+        
+        evaluationLimit = (maxEvaluations > 0) ? evaluationsBefore + maxEvaluations : Long.MAX_VALUE;
+        deadlineActive = hasDeadline;
+        
         boolean improvement;
         int iter = 0;
-        int lastMakespan = improved.getMakespan();
-        int MaxIterLocal = 100; //sécurité pour éviter boucle infinie
         
         do {
             improvement = applyOperators(improved);
-            int newMakespan = improved.getMakespan();
             iter++;
 
-            //debug 
-            //System.out.printf("[LocalSearch] Iter %d → Makespan: %d (Δ=%d)%n", iter, newMakespan, lastMakespan - newMakespan);
-
-            // if (newMakespan >= lastMakespan && !improvement) {
-            //     System.out.println("[LocalSearch] No further improvement found.");
-            // }
+            //makespan par passe : cf événements JFR lahc.Operator (makespanBefore / makespanAfter)
 
-            lastMakespan = newMakespan;
-
-            // Sécurité : limite de cycles pour éviter boucle infinie
-            if (iter > MaxIterLocal) {
-                //System.out.println("[LocalSearch] Stuck in local loop — forcing exit");
+            // plafonds : nombre de passes, évaluations
+            if (iter >= maxPasses || limitReached()) {
                 break;
             }
 
         } while (improvement);
+        evaluationLimit = Long.MAX_VALUE; //les opérateurs appelés directement ne sont pas limités
+        deadlineActive = false;
         
-        return improved;
+        event.end();
+        if (event.shouldCommit()) {
+            event.makespanBefore = initialMakespan;
+            event.makespanAfter = improved.getMakespan();
+            event.passes = iter;
+            event.evaluations = evaluationCount - evaluationsBefore;
+            event.commit();
+        }
     }
-
     
     //applique les 5 opérateurs dans l'ordre et retourne true si au moins un a amélioré la solution
+    //on s'arrête avant un opérateur si evaluationLimit ou l'échéance est atteint
     private boolean applyOperators(Solution solution) {
+        //durée / évaluations / amélioration par opérateur (SearchMetrics)
+        //et événements JFR lahc.Operator si un enregistrement les demande
+        boolean measured = metrics != null || SearchEvents.OPERATOR.isEnabled();
+        boolean events = measured && SearchEvents.OPERATOR.isEnabled();
         boolean improved = false;
 
         //we'll use |= to accumulate improvements from each operator
         //cause if an operator improves the solution, we want to keep that improvement
-        improved |= bottleneckInternalSwap(solution); //si true, on a amélioré
-        improved |= bottleneckExternalInsertion(solution); //idem 
-        improved |= bottleneckExternalSwap(solution); //idem
-        improved |= balancing(solution);
-        improved |= interMachineInsertion(solution);
+        for (int operator = 0; operator < OPERATOR_NAMES.length; operator++) {
+            if (limitReached()) {
+                break;
+            }
+            improved |= measured ? applyMeasured(operator, solution, events) : applyOperator(operator, solution);
+        }
+        return improved;
+    }
+    
+    private boolean applyMeasured(int operator, Solution solution, boolean events) {
+        long evaluationsBefore = evaluationCount;
+        int makespanBefore = solution.getMakespan();
+        SearchEvents.Operator event = null;
+        if (events) {
+            event = new SearchEvents.Operator();
+            event.begin();
+        }
+        long start = System.nanoTime();
+        
+        boolean improved = applyOperator(operator, solution);
         
+        long evaluations = evaluationCount - evaluationsBefore;
+        if (metrics != null) {
+            metrics[operator].recordCall(System.nanoTime() - start, evaluations, improved);
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) { //seuil de durée
+                event.operator = OPERATOR_NAMES[operator];
+                event.makespanBefore = makespanBefore;
+                event.makespanAfter = solution.getMakespan();
+                event.improved = improved;
+                event.evaluations = evaluations;
+                event.commit();
+            }
+        }
         return improved;
     }
-
+    
+    //même ordre que applyOperators / OPERATOR_NAMES
+    private boolean applyOperator(int operator, Solution solution) {
+        switch (operator) {
+            case 0: return bottleneckInternalSwap(solution);
+            case 1: return bottleneckExternalInsertion(solution);
+            case 2: return bottleneckExternalSwap(solution);
+            case 3: return balancing(solution);
+            default: return interMachineInsertion(solution);
+        }
+    }
 
     //==========================================================================================
     //opérateur 1 : Bottleneck Internal Swap
@@ -87,39 +278,29 @@ public class LocalSearch {
         
         //pour chaque machine "goulot"
         for (Machine machine : bottlenecks) {
-            Schedule schedule = solution.getSchedule(machine);
-            List<Job> jobs = schedule.getJobSequence();
+            Schedule schedule = solution.viewSchedule(machine); //lecture seule, on écrit via getSchedule
+            int machineId = machine.getId();
+            int jobCount = schedule.getJobCount();
             
-            if (jobs.size() < 2) continue;
+            if (jobCount < 2) continue;
             
-            int bestMakespan = currentMakespan;
-            int bestPos1 = -1, bestPos2 = -1;
-
-            //on teste tous les swaps possibles
-            for (int i = 0; i < jobs.size(); i++) {
-                for (int j = i + 1; j < jobs.size(); j++) {
-                    //ici swap
-                    schedule.swapJobs(i, j);
-                    solution.calculateMakespan();
-                    int newMakespan = solution.getMakespan();
-                    
-                    if (newMakespan < bestMakespan) {
-                        bestMakespan = newMakespan;
-                        bestPos1 = i;
-                        bestPos2 = j;
-                    }
-                    
-                    //annuler le swap pour tester le suivant
-                    schedule.swapJobs(i, j);
-                }
-            }
+            //on teste les swaps (i, j), i < j (évalués sans toucher au planning)
+            //indices aplatis ligne par ligne, même ordre que les deux boucles i < j (cf pairRow)
+            int threshold = currentMakespan;
+            int best = choose(0, jobCount * (jobCount - 1) / 2, index -> {
+                int i = pairRow(jobCount, index);
+                int j = i + 1 + index - pairRowStart(jobCount, i);
+                int newMakespan = solution.evaluateSwap(machineId, i, machineId, j).makespan;
+                return (newMakespan < threshold) ? newMakespan : CandidateScan.REJECTED;
+            });
 
             //appliquer le meilleur swap trouvé
-            if (bestPos1 != -1) {
-                schedule.swapJobs(bestPos1, bestPos2);
+            if (best != -1) {
+                int bestPos1 = pairRow(jobCount, best);
+                solution.getSchedule(machine).swapJobs(bestPos1, bestPos1 + 1 + best - pairRowStart(jobCount, bestPos1));
                 solution.calculateMakespan(); //FIX 
                 improved = true;
-                currentMakespan = bestMakespan;
+                currentMakespan = solution.getMakespan();
             }
         }
         
@@ -154,51 +335,39 @@ public class LocalSearch {
         
         // for chaque machine goulot
         for (Machine bottleneck : bottlenecks) {
-            Schedule bottleneckSchedule = solution.getSchedule(bottleneck); //on récup son planning
-            List<Job> jobs = bottleneckSchedule.getJobSequence(); //et la séquence de jobs
+            Schedule bottleneckSchedule = solution.viewSchedule(bottleneck); //on récup son planning (lecture seule)
+            int jobCount = bottleneckSchedule.getJobCount();
             
-            if (jobs.isEmpty()) continue; //si y'a pas de job, on passe au suivant
+            if (jobCount == 0) continue; //si y'a pas de job, on passe au suivant
 
             //on prend une machine non-goulot random, on va essayer d'y insérer des jobs
-            Random random = new Random();
             Machine targetMachine = nonBottlenecks.get(random.nextInt(nonBottlenecks.size()));
-            Schedule targetSchedule = solution.getSchedule(targetMachine);
+            Schedule targetSchedule = solution.viewSchedule(targetMachine);
             
-            int bestMakespan = currentMakespan; //on initialise le meilleur makespan au current (cf plus haut)
-            Job bestJob = null;
-            int bestPosition = -1;
+            //critère lexicographique (makespan, completion du goulot) : amélioration,
+            //ou même makespan avec réduction du completion time du goulot
+            //clé = (makespan, completion du goulot), le candidat doit battre (current, current)
+            long currentKey = lexKey(currentMakespan, currentMakespan);
+            int bottleneckId = bottleneck.getId();
+            int targetId = targetMachine.getId();
+            int positions = targetSchedule.getJobCount() + 1;
 
-            //on essaie de déplacer chaque job vers chaque position de la machine cible
-            for (Job job : jobs) {
-                for (int pos = 0; pos <= targetSchedule.getJobCount(); pos++) {
-                    //rm job machine 
-                    bottleneckSchedule.removeJob(job);
-                    
-                    //insert dans la machine cible
-                    targetSchedule.addJob(job, pos);
-                    solution.calculateMakespan();
-                    int newMakespan = solution.getMakespan();
-                    
-                    //si amélioration ou même makespan avec réduction du completion time du goulot
-                    if (newMakespan < bestMakespan || (newMakespan == currentMakespan && bottleneckSchedule.getCompletionTime() < currentMakespan)) {
-                        bestMakespan = newMakespan;
-                        bestJob = job;
-                        bestPosition = pos;
-                    }
-                    
-                    //annuler le mouvement si pas le meilleur
-                    targetSchedule.removeJob(job);
-                    bottleneckSchedule.addJob(job);
-                }
-            }
+            //on essaie de déplacer chaque job vers chaque position de la machine cible (indice = from * positions + pos)
+            int best = choose(1, jobCount * positions, index -> {
+                MoveEvaluation eval = solution.evaluateInsert(bottleneckId, index / positions, targetId, index % positions);
+                long key = lexKey(eval.makespan, eval.completion1);
+                return (key < currentKey) ? key : CandidateScan.REJECTED;
+            });
             
             // on apply le meilleur 
-            if (bestJob != null) {
-                bottleneckSchedule.removeJob(bestJob);
-                targetSchedule.addJob(bestJob, bestPosition);
+            if (best != -1) {
+                int bestFrom = best / positions;
+                int bestPosition = best % positions;
+                Job bestJob = solution.getSchedule(bottleneck).removeJobAt(bestFrom);
+                solution.getSchedule(targetMachine).addJob(bestJob, bestPosition);
                 solution.calculateMakespan();
                 improved = true;
-                currentMakespan = bestMakespan;
+                currentMakespan = solution.getMakespan();
             }
         }
         
@@ -230,69 +399,47 @@ public class LocalSearch {
         
         //for chaque machine goulot
         for (Machine bottleneck : bottlenecks) {
-            Schedule bottleneckSchedule = solution.getSchedule(bottleneck);
-            List<Job> bottleneckJobs = bottleneckSchedule.getJobSequence();
+            Schedule bottleneckSchedule = solution.viewSchedule(bottleneck);
+            int bottleneckCount = bottleneckSchedule.getJobCount();
             
-            if (bottleneckJobs.isEmpty()) continue;
+            if (bottleneckCount == 0) continue;
             
             //same as before, on prend une machine non-goulot random
-            Random random = new Random();
             Machine targetMachine = nonBottlenecks.get(random.nextInt(nonBottlenecks.size()));
-            Schedule targetSchedule = solution.getSchedule(targetMachine);
-            List<Job> targetJobs = targetSchedule.getJobSequence();
+            Schedule targetSchedule = solution.viewSchedule(targetMachine);
+            int targetCount = targetSchedule.getJobCount();
             
-            if (targetJobs.isEmpty()) continue;
+            if (targetCount == 0) continue;
             
-            int bestMakespan = currentMakespan;
-            Job bestBottleneckJob = null;
-            Job bestTargetJob = null;
+            //critère lexicographique (makespan, max des deux completion times) : amélioration,
+            //ou même makespan avec réduction du completion time du goulot
+            //clé = makespan puis pair completion dans un seul long, le candidat doit battre (current, current)
+            long currentKey = lexKey(currentMakespan, currentMakespan);
+            int bottleneckId = bottleneck.getId();
+            int targetId = targetMachine.getId();
             
-            //on teste tous les swaps possibles entre les jobs des deux machines
-            for (Job bottleneckJob : bottleneckJobs) {
-                for (Job targetJob : targetJobs) {
-                    // swap
-                    int bottleneckPos = bottleneckSchedule.getJobSequence().indexOf(bottleneckJob);
-                    int targetPos = targetSchedule.getJobSequence().indexOf(targetJob);
-                    
-                    bottleneckSchedule.removeJob(bottleneckJob); //FIX avec removeJOb 
-                    targetSchedule.removeJob(targetJob);
-                    
-                    bottleneckSchedule.addJob(targetJob, bottleneckPos);
-                    targetSchedule.addJob(bottleneckJob, targetPos);
-                    
-                    solution.calculateMakespan();
-                    int newMakespan = solution.getMakespan();
-                    
-                    //si amélioration ou même makespan avec réduction du completion time du goulot
-                    if (newMakespan < bestMakespan || (newMakespan == currentMakespan && Math.max(bottleneckSchedule.getCompletionTime(), targetSchedule.getCompletionTime()) < currentMakespan)) {
-                        bestMakespan = newMakespan;
-                        bestBottleneckJob = bottleneckJob;
-                        bestTargetJob = targetJob;
-                    }
-                    
-                    //annuler le swap si pas le meilleur
-                    bottleneckSchedule.removeJob(targetJob);
-                    targetSchedule.removeJob(bottleneckJob);
-                    
-                    bottleneckSchedule.addJob(bottleneckJob, bottleneckPos);
-                    targetSchedule.addJob(targetJob, targetPos);
-                }
-            }
+            //on teste tous les swaps possibles entre les jobs des deux machines (indice = bottleneckPos * targetCount + targetPos)
+            int best = choose(2, bottleneckCount * targetCount, index -> {
+                MoveEvaluation eval = solution.evaluateSwap(bottleneckId, index / targetCount, targetId, index % targetCount);
+                long key = lexKey(eval.makespan, Math.max(eval.completion1, eval.completion2));
+                return (key < currentKey) ? key : CandidateScan.REJECTED;
+            });
             
             //on applique le meilleur swap trouvé 
-            if (bestBottleneckJob != null) {
-                int bottleneckPos = bottleneckSchedule.getJobSequence().indexOf(bestBottleneckJob);
-                int targetPos = targetSchedule.getJobSequence().indexOf(bestTargetJob);
-                
-                bottleneckSchedule.removeJob(bestBottleneckJob);
-                targetSchedule.removeJob(bestTargetJob);
+            if (best != -1) {
+                int bestBottleneckPos = best / targetCount;
+                int bestTargetPos = best % targetCount;
+                bottleneckSchedule = solution.getSchedule(bottleneck);
+                targetSchedule = solution.getSchedule(targetMachine);
+                Job bestBottleneckJob = bottleneckSchedule.removeJobAt(bestBottleneckPos);
+                Job bestTargetJob = targetSchedule.removeJobAt(bestTargetPos);
                 
-                bottleneckSchedule.addJob(bestTargetJob, bottleneckPos);
-                targetSchedule.addJob(bestBottleneckJob, targetPos);
+                bottleneckSchedule.addJob(bestTargetJob, bestBottleneckPos);
+                targetSchedule.addJob(bestBottleneckJob, bestTargetPos);
                 
                 solution.calculateMakespan();
                 improved = true;
-                currentMakespan = bestMakespan;
+                currentMakespan = solution.getMakespan();
             }
         }
         
@@ -316,48 +463,46 @@ public class LocalSearch {
             
             //chaque machine goulot
             for (Machine bottleneck : bottlenecks) {
-                Schedule bottleneckSchedule = solution.getSchedule(bottleneck);
-                List<Job> jobs = bottleneckSchedule.getJobSequence();
+                Schedule bottleneckSchedule = solution.viewSchedule(bottleneck);
+                int jobCount = bottleneckSchedule.getJobCount();
                 
-                if (jobs.isEmpty()) continue; // aucun job à déplacer, on passe au suivant
+                if (jobCount == 0) continue; // aucun job à déplacer, on passe au suivant
 
                 //on prend le dernier job
-                Job lastJob = jobs.get(jobs.size() - 1);
+                int lastPos = jobCount - 1;
+                Job lastJob = bottleneckSchedule.getJobAt(lastPos);
                 
-                int bestMakespan = currentMakespan;
-                Machine bestMachine = null;
-                int bestPosition = -1;
-
-                //essayer de l'insérer dans chaque machine non-goulot
+                //essayer de l'insérer dans chaque machine non-goulot, à chaque position
+                //indices aplatis : offsets[t] = premier indice de la machine targets[t] (tableaux réutilisés)
+                if (balancingTargets.length < solution.getNumberOfMachines()) {
+                    balancingTargets = new int[solution.getNumberOfMachines()];
+                    balancingOffsets = new int[solution.getNumberOfMachines() + 1];
+                }
+                int[] targets = balancingTargets;
+                int[] offsets = balancingOffsets;
+                int targetCount = 0;
                 for (int m = 0; m < solution.getNumberOfMachines(); m++) {
-                    Machine machine = solution.getInstance().getMachine(m);
-                    if (bottlenecks.contains(machine)) continue;
-                    
-                    Schedule targetSchedule = solution.getSchedule(machine);
-                    
-                    //chaque pos testée
-                    for (int pos = 0; pos <= targetSchedule.getJobCount(); pos++) {
-                        bottleneckSchedule.removeJob(lastJob);
-                        targetSchedule.addJob(lastJob, pos);
-                        
-                        solution.calculateMakespan();
-                        int newMakespan = solution.getMakespan();
-                        
-                        if (newMakespan < bestMakespan) {
-                            bestMakespan = newMakespan;
-                            bestMachine = machine;
-                            bestPosition = pos;
-                        }
-                        
-                        //delete if not best
-                        targetSchedule.removeJob(lastJob);
-                        bottleneckSchedule.addJob(lastJob);
-                    }
+                    if (bottlenecks.contains(solution.getInstance().getMachine(m))) continue;
+                    targets[targetCount] = m;
+                    offsets[targetCount + 1] = offsets[targetCount] + solution.viewSchedule(m).getJobCount() + 1;
+                    targetCount++;
                 }
                 
+                int bottleneckId = bottleneck.getId();
+                int threshold = currentMakespan;
+                int lastTarget = targetCount;
+                int best = choose(3, offsets[targetCount], index -> {
+                    int t = targetOf(offsets, lastTarget, index);
+                    int newMakespan = solution.evaluateInsert(bottleneckId, lastPos, targets[t], index - offsets[t]).makespan;
+                    return (newMakespan < threshold) ? newMakespan : CandidateScan.REJECTED;
+                });
+                
                 //meilleur mouvement
-                if (bestMachine != null) {
-                    bottleneckSchedule.removeJob(lastJob);
+                if (best != -1) {
+                    int t = targetOf(offsets, targetCount, best);
+                    Machine bestMachine = solution.getInstance().getMachine(targets[t]);
+                    int bestPosition = best - offsets[t];
+                    solution.getSchedule(bottleneck).removeJobAt(lastPos);
                     solution.getSchedule(bestMachine).addJob(lastJob, bestPosition);
                     solution.calculateMakespan();
                     madeChange = true;
@@ -365,7 +510,7 @@ public class LocalSearch {
                     break; //FIX important, permet de recommencer avec les nouveaux goulots //TODO
                 }
             }
-        } while (madeChange);
+        } while (madeChange && !limitReached());
         
         return improved;
     }
@@ -375,74 +520,101 @@ public class LocalSearch {
      * 
      * Trouve de meilleures positions pour les jobs en les déplaçant entre machines.
      * Applique l'équation (1) du papier : Ck - Ck_new > Ch_new - Ch AND Cmax_new <= Cmax
+     * 
+     * Don't-look bits par paire (k, h) : une paire sans mouvement valide n'est plus parcourue tant que
+     * ni k ni h ne change. C'est exact : ses candidats ne dépendent que de k, h et du makespan, et un
+     * candidat refusé à cause du makespan le reste quand le makespan baisse (il ne peut pas augmenter).
+     * Seulement si tous les candidats ont été évalués (BEST, FIRST) : un échantillon (bestOfSample) plus
+     * petit que le voisinage qui ne trouve rien ne prouve rien, la paire n'est pas marquée.
+     * 
+     * Avec des listes de candidats (setCandidateListSize), seules les positions à côté des meilleurs
+     * prédécesseurs / successeurs du job (setup), plus le début et la fin, sont évaluées.
      */
     public boolean interMachineInsertion(Solution solution) {
         boolean improved = false;
         int moveCount = 0;
-        int maxMoves = solution.getNumberOfMachines() * solution.getNumberOfMachines();
+        int numMachines = solution.getNumberOfMachines();
+        int maxMoves = numMachines * numMachines;
+        CandidateLists lists = candidateLists(solution.getInstance());
+        
+        //dontLook[k * m + h] = la paire (k, h) a été parcourue sans mouvement valide
+        if (dontLook.length < maxMoves) {
+            dontLook = new boolean[maxMoves];
+        }
+        Arrays.fill(dontLook, 0, maxMoves, false);
         
-        while (moveCount < maxMoves) {
+        while (moveCount < maxMoves && !limitReached()) {
             boolean madeMove = false;
 
             //Pour chaque paire de machines (k, h)
-            for (int k = 0; k < solution.getNumberOfMachines(); k++) {
-                for (int h = 0; h < solution.getNumberOfMachines(); h++) {
-                    if (k == h) continue;
+            for (int k = 0; k < numMachines; k++) {
+                for (int h = 0; h < numMachines; h++) {
+                    if (k == h || dontLook[k * numMachines + h]) continue;
                     
-                    Schedule scheduleK = solution.getSchedule(k);
-                    Schedule scheduleH = solution.getSchedule(h);
+                    Schedule scheduleK = solution.viewSchedule(k);
+                    Schedule scheduleH = solution.viewSchedule(h);
                     
-                    if (scheduleK.getJobCount() == 0) continue;
+                    if (scheduleK.getJobCount() == 0) {
+                        dontLook[k * numMachines + h] = true;
+                        continue;
+                    }
                     
                     int currentCk = scheduleK.getCompletionTime();
                     int currentCh = scheduleH.getCompletionTime();
                     int currentMakespan = solution.getMakespan();
                     
-                    Job bestJob = null;
-                    int bestPosition = -1;
-                    double bestGain = 0;
+                    int fromMachine = k;
+                    int toMachine = h;
+                    int positions = scheduleH.getJobCount() + 1;
+                    
+                    //candidats codés par from * positions + pos : tous, ou ceux des listes
+                    int[] encoded = (lists == null) ? null : insertionCandidates(lists, scheduleK, scheduleH, h);
+                    int count = (lists == null) ? scheduleK.getJobCount() * positions : candidateCount;
 
-                    //on essaie de déplacer chaque job de k vers h
-                    for (Job job : scheduleK.getJobSequence()) {
-                        for (int pos = 0; pos <= scheduleH.getJobCount(); pos++) {
-                            //mouvement
-                            scheduleK.removeJob(job);
-                            scheduleH.addJob(job, pos);
-                            solution.calculateMakespan();
-                            
-                            int newCk = scheduleK.getCompletionTime();
-                            int newCh = scheduleH.getCompletionTime();
-                            int newMakespan = solution.getMakespan();
-                            
-                            // équation (1) du papier //TODO vérifier si c'est bien ça
-                            double gainK = currentCk - newCk;
-                            double costH = newCh - currentCh;
-                            
-                            if (gainK > costH && newMakespan <= currentMakespan) {
-                                double netGain = gainK - costH;
-                                if (netGain > bestGain) {
-                                    bestGain = netGain;
-                                    bestJob = job;
-                                    bestPosition = pos;
-                                }
-                            }
-                            
-                            //annuler le mouvement
-                            scheduleH.removeJob(job);
-                            scheduleK.addJob(job);
+                    //on essaie de déplacer chaque job de k vers h (indice = from * positions + pos)
+                    //clé = -gain net => le plus grand gain gagne
+                    int best = choose(4, count, i -> {
+                        int index = (encoded == null) ? i : encoded[i];
+                        //mouvement évalué sans être appliqué
+                        MoveEvaluation eval = solution.evaluateInsert(fromMachine, index / positions, toMachine, index % positions);
+                        
+                        int newCk = eval.completion1;
+                        int newCh = eval.completion2;
+                        int newMakespan = eval.makespan;
+                        
+                        // équation (1) du papier //TODO vérifier si c'est bien ça
+                        long gainK = currentCk - newCk;
+                        long costH = newCh - currentCh;
+                        
+                        if (gainK > costH && newMakespan <= currentMakespan) {
+                            return -(gainK - costH);
                         }
-                    }
+                        return CandidateScan.REJECTED;
+                    });
                     
                     //meilleur mouvement trouvé
-                    if (bestJob != null) {
-                        scheduleK.removeJob(bestJob);
-                        scheduleH.addJob(bestJob, bestPosition);
+                    if (best != -1) {
+                        int index = (encoded == null) ? best : encoded[best];
+                        int bestFrom = index / positions;
+                        int bestPosition = index % positions;
+                        Job bestJob = solution.getSchedule(k).removeJobAt(bestFrom);
+                        solution.getSchedule(h).addJob(bestJob, bestPosition);
                         solution.calculateMakespan();
+                        //k et h ont changé => toutes leurs paires sont à revoir
+                        for (int other = 0; other < numMachines; other++) {
+                            dontLook[k * numMachines + other] = false;
+                            dontLook[other * numMachines + k] = false;
+                            dontLook[h * numMachines + other] = false;
+                            dontLook[other * numMachines + h] = false;
+                        }
                         madeMove = true;
                         improved = true;
                         moveCount++;
                         break; //same as before, on recommence avec les nouvelles données FIX 
                     }
+                    if (scansAll(4, count)) {
+                        dontLook[k * numMachines + h] = true;
+                    }
                 }
                 if (madeMove) break;
             }
@@ -452,4 +624,143 @@ public class LocalSearch {
         
         return improved;
     }
+    
+    //positions d'insertion de chaque job de k sur h d'après les listes (+ début et fin), sans doublon
+    //résultat dans candidateBuffer[0, candidateCount), codé from * positions + pos
+    private int[] insertionCandidates(CandidateLists lists, Schedule scheduleK, Schedule scheduleH, int h) {
+        int positions = scheduleH.getJobCount() + 1;
+        int perJob = 2 * lists.getSize() + 2;
+        int needed = scheduleK.getJobCount() * perJob;
+        if (candidateBuffer.length < needed) {
+            candidateBuffer = new int[needed];
+        }
+        if (positionStamp.length < positions) {
+            positionStamp = new int[Math.max(positions, 2 * positionStamp.length)];
+            stamp = 0;
+        }
+        candidateCount = 0;
+        for (int from = 0; from < scheduleK.getJobCount(); from++) {
+            int job = scheduleK.getJobIdAt(from);
+            stamp++;
+            addPosition(from, 0, positions);
+            addPosition(from, positions - 1, positions);
+            for (int r = 0; r < lists.getSize(); r++) {
+                int pred = lists.predecessor(h, job, r);
+                if (pred >= 0 && scheduleH.indexOf(pred) >= 0) {
+                    addPosition(from, scheduleH.indexOf(pred) + 1, positions);
+                }
+                int succ = lists.successor(h, job, r);
+                if (succ >= 0 && scheduleH.indexOf(succ) >= 0) {
+                    addPosition(from, scheduleH.indexOf(succ), positions);
+                }
+            }
+        }
+        return candidateBuffer;
+    }
+    
+    private void addPosition(int from, int pos, int positions) {
+        if (positionStamp[pos] != stamp) {
+            positionStamp[pos] = stamp;
+            candidateBuffer[candidateCount++] = from * positions + pos;
+        }
+    }
+    
+    //listes calculées au premier appel pour chaque instance, null si désactivées
+    private CandidateLists candidateLists(Instance instance) {
+        if (candidateListSize <= 0) {
+            return null;
+        }
+        if (candidateLists == null || candidateLists.getInstance() != instance) {
+            candidateLists = new CandidateLists(instance, candidateListSize);
+        }
+        return candidateLists;
+    }
+    
+    //plafond d'évaluations de l'appel en cours atteint, ou échéance passée
+    private boolean limitReached() {
+        return evaluationCount >= evaluationLimit || (deadlineActive && System.nanoTime() - deadlineNanos >= 0);
+    }
+    
+    //candidat retenu selon la stratégie de l'opérateur (indice dans [0, count), -1 si aucun n'améliore)
+    //et décompte des évaluations faites
+    private int choose(int operator, int count, CandidateScan.Scorer scorer) {
+        if (count <= 0) {
+            return -1;
+        }
+        ScanStrategy strategy = strategies[operator];
+        if (strategy.getKind() == ScanStrategy.Kind.FIRST) {
+            //ordre circulaire à partir d'un indice aléatoire => pas de biais vers le début de la séquence
+            int start = random.nextInt(count);
+            for (int t = 0; t < count; t++) {
+                int index = (start + t < count) ? start + t : start + t - count;
+                evaluationCount++;
+                if (scorer.score(index) != CandidateScan.REJECTED) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+        if (strategy.getKind() == ScanStrategy.Kind.BEST_OF_SAMPLE && strategy.getSampleSize() < count) {
+            long bestKey = CandidateScan.REJECTED;
+            int bestIndex = -1;
+            for (int t = 0; t < strategy.getSampleSize(); t++) {
+                int index = random.nextInt(count);
+                long key = scorer.score(index);
+                if (key < bestKey) {
+                    bestKey = key;
+                    bestIndex = index;
+                }
+            }
+            evaluationCount += strategy.getSampleSize();
+            return bestIndex;
+        }
+        evaluationCount += count; //tous les candidats sont évalués
+        return CandidateScan.best(count, scorer, pool, parallelThreshold);
+    }
+    
+    //true si choose(operator, count, ...) évalue tous les candidats quand aucun n'améliore
+    //(BEST, FIRST), donc -1 <=> aucun mouvement valide
+    private boolean scansAll(int operator, int count) {
+        ScanStrategy strategy = strategies[operator];
+        return strategy.getKind() != ScanStrategy.Kind.BEST_OF_SAMPLE || strategy.getSampleSize() >= count;
+    }
+    
+    //ligne t de offsets (offsets[t] <= index < offsets[t + 1]) qui contient l'indice aplati index, par dichotomie
+    private static int targetOf(int[] offsets, int targetCount, int index) {
+        int lo = 0;
+        int hi = targetCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= index) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+    
+    //couples (i, j), 0 <= i < j < n, numérotés ligne par ligne : la ligne i commence à pairRowStart(n, i)
+    static int pairRowStart(int n, int i) {
+        return (int) ((long) i * (2 * n - i - 1) / 2);
+    }
+    
+    //ligne i du couple d'indice index : racine de pairRowStart(n, i) = index, corrigée des erreurs d'arrondi
+    static int pairRow(int n, int index) {
+        double b = 2.0 * n - 1;
+        int i = (int) ((b - Math.sqrt(b * b - 8.0 * index)) / 2);
+        i = Math.max(0, Math.min(i, n - 2));
+        while (i > 0 && pairRowStart(n, i) > index) {
+            i--;
+        }
+        while (i < n - 2 && pairRowStart(n, i + 1) <= index) {
+            i++;
+        }
+        return i;
+    }
+    
+    //clé lexicographique (primary, secondary) pour des valeurs >= 0 : comparer les clés = comparer les couples
+    private static long lexKey(int primary, int secondary) {
+        return ((long) primary << 32) | (secondary & 0xFFFFFFFFL);
+    }
 }
\ No newline at end of file
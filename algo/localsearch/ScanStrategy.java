@@ -0,0 +1,61 @@
+package algo.localsearch;
+
+/**
+ * Parcours du voisinage d'un opérateur de recherche locale :
+ *   BEST               : tous les candidats, le meilleur est appliqué (papier, par défaut)
+ *   FIRST              : dans un ordre circulaire à partir d'un indice tiré au hasard, le premier
+ *                        candidat améliorant est appliqué
+ *   bestOfSample(k)    : k candidats tirés au hasard (avec remise), le meilleur est appliqué
+ *                        (= BEST si le voisinage a au plus k candidats)
+ *
+ * FIRST et bestOfSample évaluent beaucoup moins de candidats par mouvement sur les grosses instances,
+ * au prix de mouvements moins bons. Immutable.
+ */
+public final class ScanStrategy {
+    public enum Kind { BEST, FIRST, BEST_OF_SAMPLE }
+
+    public static final ScanStrategy BEST = new ScanStrategy(Kind.BEST, 0);
+    public static final ScanStrategy FIRST = new ScanStrategy(Kind.FIRST, 0);
+
+    private final Kind kind;
+    private final int sampleSize;
+
+    private ScanStrategy(Kind kind, int sampleSize) {
+        this.kind = kind;
+        this.sampleSize = sampleSize;
+    }
+
+    public static ScanStrategy bestOfSample(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Sample size must be positive: " + k);
+        }
+        return new ScanStrategy(Kind.BEST_OF_SAMPLE, k);
+    }
+
+    //"BEST", "FIRST" ou "SAMPLE_<k>" (paramètres de benchmark, ligne de commande)
+    public static ScanStrategy parse(String name) {
+        if (name.equalsIgnoreCase("BEST")) {
+            return BEST;
+        }
+        if (name.equalsIgnoreCase("FIRST")) {
+            return FIRST;
+        }
+        if (name.toUpperCase().startsWith("SAMPLE_")) {
+            return bestOfSample(Integer.parseInt(name.substring("SAMPLE_".length())));
+        }
+        throw new IllegalArgumentException("Unknown scan strategy: " + name);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    @Override
+    public String toString() {
+        return (kind == Kind.BEST_OF_SAMPLE) ? "SAMPLE_" + sampleSize : kind.name();
+    }
+}
@@ -0,0 +1,116 @@
+package algo.metaheuristic;
+
+import java.util.*;
+
+/**
+ * Roulette adaptative : la probabilité d'un opérateur suit son gain de makespan par seconde de CPU,
+ * mesuré sur ses window dernières applications (fenêtre glissante => suit les changements de phase
+ * de la recherche, un opérateur utile au début ne garde pas son avantage indéfiniment).
+ *
+ *   score(i) = somme des gains (coût courant - coût du voisin, si > 0) / somme des durées, sur la fenêtre
+ *   p(i)     = pMin + (1 - K * pMin) * score(i) / somme des scores
+ *
+ * pMin = minShare / K garde chaque opérateur en jeu (sinon un opérateur malchanceux au début
+ * ne serait plus jamais tiré). Tant qu'aucun opérateur n'a rapporté, le tirage est uniforme.
+ */
+public class AdaptiveOperatorSelector implements OperatorSelector {
+    private final int window;
+    private final double minShare;
+
+    private int operatorCount;
+    private long[][] gains; //[opérateur][fenêtre], buffer circulaire
+    private long[][] times;
+    private int[] next; //prochaine case à écraser
+    private long[] gainSum;
+    private long[] timeSum;
+    private double[] probabilities;
+    private boolean dirty; //probabilités à recalculer
+
+    //fenêtre de 50 applications par opérateur, 20% de la probabilité répartie uniformément
+    public AdaptiveOperatorSelector() {
+        this(50, 0.2);
+    }
+
+    public AdaptiveOperatorSelector(int window, double minShare) {
+        if (window < 1 || minShare < 0 || minShare > 1) {
+            throw new IllegalArgumentException("Invalid window " + window + " or min share " + minShare);
+        }
+        this.window = window;
+        this.minShare = minShare;
+    }
+
+    @Override
+    public void reset(int operatorCount) {
+        this.operatorCount = operatorCount;
+        gains = new long[operatorCount][window];
+        times = new long[operatorCount][window];
+        next = new int[operatorCount];
+        gainSum = new long[operatorCount];
+        timeSum = new long[operatorCount];
+        probabilities = new double[operatorCount];
+        Arrays.fill(probabilities, 1.0 / operatorCount);
+        dirty = false;
+    }
+
+    @Override
+    public int select(SplittableRandom random) {
+        if (dirty) {
+            computeProbabilities();
+        }
+        double r = random.nextDouble();
+        for (int i = 0; i < operatorCount - 1; i++) {
+            r -= probabilities[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return operatorCount - 1;
+    }
+
+    @Override
+    public void update(int operator, int currentCost, int neighborCost, long nanos) {
+        long gain = Math.max(0, currentCost - neighborCost);
+        long time = Math.max(1, nanos);
+        int slot = next[operator];
+        gainSum[operator] += gain - gains[operator][slot];
+        timeSum[operator] += time - times[operator][slot];
+        gains[operator][slot] = gain;
+        times[operator][slot] = time;
+        next[operator] = (slot + 1 == window) ? 0 : slot + 1;
+        dirty = true;
+    }
+
+    @Override
+    public boolean needsTiming() {
+        return true; //score = gain par seconde
+    }
+
+    //probabilité courante de chaque opérateur (copie)
+    public double[] getProbabilities() {
+        if (dirty) {
+            computeProbabilities();
+        }
+        return probabilities.clone();
+    }
+
+    private void computeProbabilities() {
+        dirty = false;
+        double total = 0;
+        for (int i = 0; i < operatorCount; i++) {
+            total += score(i);
+        }
+        if (total <= 0) {
+            Arrays.fill(probabilities, 1.0 / operatorCount);
+            return;
+        }
+        double floor = minShare / operatorCount;
+        for (int i = 0; i < operatorCount; i++) {
+            probabilities[i] = floor + (1 - minShare) * score(i) / total;
+        }
+    }
+
+    //gain par seconde sur la fenêtre
+    private double score(int operator) {
+        return (timeSum[operator] == 0) ? 0 : gainSum[operator] * 1e9 / timeSum[operator];
+    }
+}
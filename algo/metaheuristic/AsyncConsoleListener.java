@@ -0,0 +1,121 @@
+package algo.metaheuristic;
+
+import java.io.PrintStream;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Affiche la progression sur la console depuis un thread dédié : la recherche ne fait que déposer
+ * une ligne dans une file bornée (offer, jamais bloquant), sans toucher au lock du PrintStream.
+ * 
+ * Les améliorations et la progression sont limitées à une ligne toutes les minIntervalMs
+ * (les autres sont abandonnées, tout comme les lignes qui ne tiennent plus dans la file).
+ * Le début et la fin sont toujours affichés.
+ * 
+ * close() affiche ce qui reste dans la file puis arrête le thread ; on peut l'appeler plusieurs fois,
+ * les lignes postées après sont abandonnées.
+ */
+public class AsyncConsoleListener implements SearchListener, AutoCloseable {
+    private static final String POISON = "";
+    
+    private final PrintStream out;
+    private final long minIntervalNanos;
+    private final BlockingQueue<String> queue;
+    private final AtomicLong lastEmit = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Thread printer;
+    
+    public AsyncConsoleListener() {
+        this(System.out, 500);
+    }
+    
+    public AsyncConsoleListener(PrintStream out, long minIntervalMs) {
+        this.out = out;
+        this.minIntervalNanos = minIntervalMs * 1_000_000L;
+        this.queue = new ArrayBlockingQueue<>(1024);
+        this.printer = new Thread(this::printLoop, "lahc-console");
+        this.printer.setDaemon(true);
+        this.printer.start();
+    }
+    
+    @Override
+    public void onStart(int initialMakespan) {
+        post("Initial makespan: " + initialMakespan);
+    }
+    
+    @Override
+    public void onImprovement(int iteration, int bestMakespan, long elapsedNanos) {
+        if (allowed()) {
+            post(String.format("Iteration %d (%d ms): New best makespan = %d", iteration, elapsedNanos / 1_000_000, bestMakespan));
+        }
+    }
+    
+    @Override
+    public void onProgress(int iteration, int bestMakespan, int currentMakespan, long elapsedNanos) {
+        if (allowed()) {
+            post(String.format("Iteration %d (%d ms) - Best: %d, Current: %d", iteration, elapsedNanos / 1_000_000, bestMakespan, currentMakespan));
+        }
+    }
+    
+    @Override
+    public void onFinish(int iterations, int initialMakespan, int bestMakespan, long elapsedNanos,
+                         SearchBudget.StopReason stopReason) {
+        post(String.format("%nLAHC finished:%n"
+                         + "  Total iterations: %d%n"
+                         + "  Total time: %.3f s%n"
+                         + "  Stopped by: %s%n"
+                         + "  Initial makespan: %d%n"
+                         + "  Final makespan: %d%n"
+                         + "  Improvement: %.2f%%",
+                           iterations, elapsedNanos / 1e9, stopReason, initialMakespan, bestMakespan,
+                           (initialMakespan == 0) ? 0.0 : 100.0 * (initialMakespan - bestMakespan) / initialMakespan));
+    }
+    
+    //nombre de lignes perdues (file pleine ou listener fermé)
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    @Override
+    public void close() {
+        //un seul POISON : le thread d'affichage s'arrête au premier, un second put resterait bloqué file pleine
+        if (closed.getAndSet(true)) {
+            return;
+        }
+        try {
+            queue.put(POISON);
+            printer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    //une ligne au plus toutes les minIntervalNanos, tous threads confondus
+    private boolean allowed() {
+        long now = System.nanoTime();
+        long last = lastEmit.get();
+        return (last == Long.MIN_VALUE || now - last >= minIntervalNanos) && lastEmit.compareAndSet(last, now);
+    }
+    
+    private void post(String line) {
+        if (closed.get() || !queue.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+    
+    private void printLoop() {
+        try {
+            while (true) {
+                String line = queue.take();
+                if (line == POISON) {
+                    break;
+                }
+                out.println(line);
+            }
+        } catch (InterruptedException e) {
+            //arrêt demandé
+        }
+        out.flush();
+    }
+}
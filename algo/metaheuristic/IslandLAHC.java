@@ -0,0 +1,159 @@
+package algo.metaheuristic;
+
+import algo.heuristic.*;
+import domain.*;
+import java.util.concurrent.atomic.*;
+import solution.*;
+
+/**
+ * Modèle en îles : N LAHC en parallèle (cf ParallelLAHC) qui s'échangent périodiquement leur
+ * meilleure solution, tous les X itérations et/ou toutes les X ms.
+ * 
+ * Chaque île a une boîte aux lettres (AtomicReference) : l'émetteur y dépose une copie de son best
+ * par CAS (on ne garde que le meilleur immigrant en attente), le receveur la vide avec getAndSet(null).
+ * Aucun verrou => la boucle LAHC n'est jamais bloquée par la migration.
+ * 
+ * La boîte contient une enveloppe (solution + coût calculé par l'émetteur avant dépôt) : l'émetteur
+ * compare avec le coût de l'enveloppe, jamais avec la solution, que le receveur peut déjà être en train
+ * de modifier (getMakespan n'est pas en lecture seule, il recalcule les machines modifiées).
+ * 
+ * Les copies de Solution peuvent passer d'un thread à l'autre : les schedules partagés (copy-on-write)
+ * ne sont jamais modifiés, chaque île duplique ceux qu'elle touche.
+ */
+public class IslandLAHC extends ParallelLAHC {
+    
+    //qui envoie à qui
+    @FunctionalInterface
+    public interface Topology {
+        int[] targets(int island, int numIslands);
+    }
+    
+    //anneau : i -> i+1
+    public static final Topology RING = (island, numIslands) ->
+        (numIslands > 1) ? new int[] { (island + 1) % numIslands } : new int[0];
+    
+    //tout le monde envoie à tout le monde
+    public static final Topology BROADCAST = (island, numIslands) -> {
+        int[] targets = new int[numIslands - 1];
+        for (int i = 0, t = 0; i < numIslands; i++) {
+            if (i != island) targets[t++] = i;
+        }
+        return targets;
+    };
+    
+    private Topology topology = RING;
+    private int migrationIterations = 100; // <= 0 : pas de déclencheur en itérations
+    private long migrationMs = 0;          // <= 0 : pas de déclencheur en temps
+    private boolean seedHistory = true;
+    
+    private AtomicReferenceArray<Immigrant> mailboxes;
+    private AtomicIntegerArray immigrantsAccepted;
+    
+    public IslandLAHC(Heuristic heuristic, int numIslands, int historyLength, long seed) {
+        super(heuristic, numIslands, historyLength, seed);
+    }
+    
+    @Override
+    public Solution solve(Instance instance) {
+        mailboxes = new AtomicReferenceArray<>(getNumberOfWorkers());
+        immigrantsAccepted = new AtomicIntegerArray(getNumberOfWorkers());
+        return super.solve(instance);
+    }
+    
+    @Override
+    protected void prepareWorker(LAHCMetaheuristic lahc, int island) {
+        int[] targets = topology.targets(island, getNumberOfWorkers());
+        lahc.setIterationHook(new Migration(island, targets));
+    }
+    
+    //enveloppe immuable d'une boîte aux lettres : le coût est lu par l'émetteur avant publication
+    private static final class Immigrant {
+        final Solution solution;
+        final int cost;
+        
+        Immigrant(Solution solution) {
+            this.solution = solution;
+            this.cost = solution.getMakespan();
+        }
+    }
+    
+    //dépose un immigrant s'il est meilleur que celui en attente (CAS, sans verrou)
+    private void send(int target, Solution emigrant) {
+        Immigrant envelope = new Immigrant(emigrant);
+        while (true) {
+            Immigrant waiting = mailboxes.get(target);
+            if (waiting != null && waiting.cost <= envelope.cost) {
+                return;
+            }
+            if (mailboxes.compareAndSet(target, waiting, envelope)) {
+                return;
+            }
+        }
+    }
+    
+    //état de migration d'une île, utilisé uniquement par le thread de l'île
+    private class Migration implements LAHCMetaheuristic.IterationHook {
+        private final int island;
+        private final int[] targets;
+        private long lastMigration = System.nanoTime();
+        private int lastSentMakespan = Integer.MAX_VALUE;
+        
+        Migration(int island, int[] targets) {
+            this.island = island;
+            this.targets = targets;
+        }
+        
+        @Override
+        public void afterIteration(LAHCMetaheuristic lahc, int iteration) {
+            //réception : lecture simple à chaque itération, getAndSet seulement si la boîte n'est pas vide
+            Immigrant immigrant = (mailboxes.get(island) != null) ? mailboxes.getAndSet(island, null) : null;
+            if (immigrant != null && immigrant.cost < lahc.getCurrentSolution().getMakespan()) {
+                lahc.acceptImmigrant(immigrant.solution, seedHistory);
+                immigrantsAccepted.incrementAndGet(island);
+            }
+            
+            //émission
+            boolean due = (migrationIterations > 0 && iteration % migrationIterations == 0);
+            if (!due && migrationMs > 0) {
+                due = System.nanoTime() - lastMigration >= migrationMs * 1_000_000L;
+            }
+            if (!due) {
+                return;
+            }
+            lastMigration = System.nanoTime();
+            Solution best = lahc.getBestSolution();
+            if (best.getMakespan() >= lastSentMakespan) {
+                return; //rien de neuf à envoyer
+            }
+            lastSentMakespan = best.getMakespan();
+            for (int target : targets) {
+                send(target, best.copy()); //une copie par destinataire : chaque île possède la sienne
+            }
+        }
+    }
+    
+    //setters
+    public void setTopology(Topology topology) {
+        this.topology = topology;
+    }
+    
+    //migration tous les n itérations (<= 0 pour désactiver ce déclencheur)
+    public void setMigrationIterations(int iterations) {
+        this.migrationIterations = iterations;
+    }
+    
+    //migration toutes les ms millisecondes (<= 0 pour désactiver ce déclencheur)
+    public void setMigrationInterval(long ms) {
+        this.migrationMs = ms;
+    }
+    
+    //l'île qui accepte un immigrant réinitialise sa liste historique avec son coût
+    public void setSeedHistory(boolean seedHistory) {
+        this.seedHistory = seedHistory;
+    }
+    
+    //getters
+    public int getImmigrantsAccepted(int island) {
+        return immigrantsAccepted.get(island);
+    }
+}
@@ -3,6 +3,7 @@ package algo.metaheuristic;
 
 import  algo.heuristic.*;
 import  algo.localsearch.*;
+import  algo.metrics.*;
 import  algo.neighborhood.*;
 import  domain.*;
 import  java.util.*;
@@ -14,13 +15,23 @@ public class LAHCMetaheuristic {
     private final Heuristic heuristic;
     private final LocalSearch localSearch;
     private final List<NeighborhoodOperator> operators;
-    private final Random random;
+    private final SplittableRandom random;
+    private OperatorSelector operatorSelector = new UniformOperatorSelector(); //50%-50% comme le papier
+    private LocalSearchPolicy localSearchPolicy = LocalSearchPolicy.always(); //recherche locale à chaque itération
     
     // Paramètres LAHC
     private int[] historyList;
     private int historyLength; // LH
-    private int maxIterations; //todo ajustable ?
+    private int maxIterations; // <= 0 : pas de limite en itérations
     private int nonImprovementLimit;
+    private long timeLimitMs; // <= 0 : n*m/2 secondes comme dans le papier
+    private SearchBudget budget; //null => budget construit à partir des setters ci-dessous (cf resolveBudget)
+    private SearchListener listener = SearchListener.NONE; //silencieux par défaut
+    private int progressInterval = 1000; //onProgress toutes les N itérations
+    private IterationHook iterationHook; //null sauf en mode îles (cf IslandLAHC)
+    private SearchMetrics metrics; //null => pas de mesures (par défaut)
+    private OperatorMetrics iterationMetrics;
+    private OperatorMetrics[] operatorMetrics; //même ordre que operators
     
     // Solutions
     private Solution bestSolution;
@@ -29,8 +40,12 @@ public class LAHCMetaheuristic {
     // stats 
     private int iterationCount;
     private int lastImprovementIteration;
+    private SearchBudget.Tracker tracker;
     private int initialMakespan;
     private int bestMakespan;
+    private long totalTimeMs;
+    private long searchTimeNanos; //boucle LAHC seule
+    private long constructionTimeNanos; //durée de l'heuristique initiale (BIBA), hors budget
 
     //default constructor with heuristic and default history length
     public LAHCMetaheuristic(Heuristic heuristic) {
@@ -39,117 +54,273 @@ public class LAHCMetaheuristic {
     
     //constructor with heuristic and history length
     public LAHCMetaheuristic(Heuristic heuristic, int historyLength) {
+        this(heuristic, historyLength, new SplittableRandom());
+    }
+    
+    //constructor with a seed => même seed + budget en itérations = même solution
+    public LAHCMetaheuristic(Heuristic heuristic, int historyLength, long seed) {
+        this(heuristic, historyLength, new SplittableRandom(seed));
+    }
+    
+    //la recherche locale et chaque opérateur reçoivent leur propre flux (split) de ce générateur
+    public LAHCMetaheuristic(Heuristic heuristic, int historyLength, SplittableRandom random) {
         this.heuristic = heuristic;
-        this.localSearch = new LocalSearch();
+        this.localSearch = new LocalSearch(random.split());
         this.historyLength = historyLength; // LH
         this.nonImprovementLimit = 1000; //by default in the paper 
-        this.random = new Random();
+        this.random = random;
         
         // opérateurs de voisinage (50%-50%)
         this.operators = new ArrayList<>();
-        this.operators.add(new RandomInternalSwap());
-        this.operators.add(new RandomExternalSwap());
+        this.operators.add(new RandomInternalSwap(random.split()));
+        this.operators.add(new RandomExternalSwap(random.split()));
     }
     
 
     public Solution solve(Instance instance) {
+        SearchEvents.Search event = new SearchEvents.Search(); //événement JFR, coût nul sans enregistrement
+        event.begin();
+        initialize(instance);
+        
+        // 3. Boucle principale LAHC
+        while (tracker.next())
+        {
+            iterate();
+        }
+        long totalTime = tracker.elapsedNanos();
+        searchTimeNanos = totalTime;
+        totalTimeMs = totalTime / 1_000_000;
+        listener.onFinish(iterationCount, initialMakespan, bestMakespan, totalTime, tracker.getStopReason());
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.jobs = instance.getNumberOfJobs();
+            event.machines = instance.getNumberOfMachines();
+            event.initialMakespan = initialMakespan;
+            event.bestMakespan = bestMakespan;
+            event.iterations = iterationCount;
+            event.evaluations = tracker.getEvaluations();
+            event.stopReason = tracker.getStopReason().name();
+            event.commit();
+        }
+        return bestSolution;
+    }
+
+    //solution initiale + liste historique + budget, sans lancer la boucle
+    //public pour pouvoir piloter la recherche pas à pas (benchmarks) : initialize puis iterate
+    public void initialize(Instance instance) {
         // 1. Générer la solution initiale avec l'heuristique
-        System.out.println("Generating initial solution with BIBA heuristic...");
+        long constructionStart = System.nanoTime();
         currentSolution = heuristic.buildInitialSolution(instance);
+        constructionTimeNanos = System.nanoTime() - constructionStart;
         bestSolution = currentSolution.copy(); //initial best solution = initial solution
 
         initialMakespan = bestSolution.getMakespan();
         bestMakespan = initialMakespan;
-        System.out.println("Initial makespan: " + initialMakespan);
+        listener.onStart(initialMakespan);
         
         // 2. Initialiser la liste historique
+        operatorSelector.reset(operators.size());
+        localSearch.setMaxPasses(localSearchPolicy.getMaxPasses());
+        localSearch.setMaxEvaluations(localSearchPolicy.getMaxEvaluations());
+        if (localSearchPolicy.getCandidateListSize() != localSearch.getCandidateListSize()) {
+            localSearch.setCandidateListSize(localSearchPolicy.getCandidateListSize()); //listes recalculées
+        }
+        for (LocalSearch.Operator operator : LocalSearch.Operator.values()) {
+            localSearch.setScanStrategy(operator, localSearchPolicy.getScanStrategy(operator));
+        }
         historyList = new int[historyLength];
         Arrays.fill(historyList, initialMakespan);
 
-        //FIX with iteration time rather than max time n*m/2 *1000 
-        long timeLimitMs = (long) (instance.getNumberOfJobs() * instance.getNumberOfMachines() / 2.0 * 1000 ); //in ms  
-        long startTime = System.currentTimeMillis();
-        
+        //temps / itérations / évaluations / non-amélioration, l'horloge n'est lue que toutes les N itérations
+        tracker = resolveBudget(instance).start();
+        //la recherche locale s'arrête aussi à l'échéance (sinon dépassement d'une recherche locale complète)
+        if (tracker.hasDeadline()) {
+            localSearch.setDeadline(tracker.getDeadlineNanos());
+        } else {
+            localSearch.clearDeadline();
+        }
 
-        // 3. Boucle principale LAHC
         iterationCount = 0;
         lastImprovementIteration = 0;
-        int nonImprovementCount = 0;
+    }
 
-        //FIX MaxIter discrete or time-based ? TODO + add as a param 
-        //while (iterationCount < maxIterations && nonImprovementCount < nonImprovementLimit)
-        while ((System.currentTimeMillis() - startTime) < timeLimitMs  && nonImprovementCount < nonImprovementLimit)  //&& iterationCount < maxIterations
-        {
-            iterationCount++;
-            //debug 
-            System.out.println("Iteration " + iterationCount + ": " + (System.currentTimeMillis() - startTime) + " ms");
-
-            // a. Générer une solution voisine
-            NeighborhoodOperator operator = operators.get(random.nextInt(operators.size())); //retourne soit 0 soit 1, donc 50%-50%
-            //System.out.println("Using operator: " + operator.getClass().getSimpleName()); //debug
-
-            Solution neighbor = operator.apply(currentSolution);
-            
-            // b. Améliorer avec recherche locale
-            //neighbor = localSearch.improve(neighbor); //ISSUE HERE -> stuck in local optimum every time
-
-            //only improve some of neighbors to save time //FIX 
-            if (random.nextDouble() < 1.0) { //always for now
-                neighbor = localSearch.improve(neighbor);
-            }
-            
-            int currentCost = currentSolution.getMakespan();
-            int neighborCost = neighbor.getMakespan();
-            
-            // c. Critère d'acceptation LAHC
-            int historyIndex = iterationCount % historyLength;
-            int historyCost = historyList[historyIndex];
-
-            if (neighborCost <= currentCost || neighborCost < historyCost) { //we could have used an "acceptSolution" method but whatever
-                //neighbor = localSearch.improve(neighbor); //FIX either only on the accepted or on some of em 
-                currentSolution = neighbor;
+    //une itération LAHC (le budget n'est pas vérifié ici, c'est le rôle de solve)
+    public void iterate() {
+        iterationCount++;
+        long evaluationsBefore = localSearch.getEvaluationCount();
+        //horloge lue seulement si les métriques ou le sélecteur d'opérateur s'en servent
+        boolean timed = metrics != null || operatorSelector.needsTiming();
+        long start = timed ? System.nanoTime() : 0;
+        SearchEvents.Iteration event = new SearchEvents.Iteration(); //seuil 1 ms, cf SearchEvents
+        event.begin();
+
+        // a. Tirer un mouvement voisin sur la solution courante (sans copie)
+        int operatorIndex = operatorSelector.select(random); //uniforme par défaut, donc 50%-50%
+        NeighborhoodOperator operator = operators.get(operatorIndex);
+        //System.out.println("Using operator: " + operator.getClass().getSimpleName()); //debug
+
+        int currentCost = currentSolution.getMakespan();
+        Move move = operator.propose(currentSolution);
+        int historyCost = historyList[iterationCount % historyLength];
+        
+        // b. Améliorer avec recherche locale
+        //neighbor = localSearch.improve(neighbor); //ISSUE HERE -> stuck in local optimum every time
+
+        //only improve some of neighbors to save time, cf LocalSearchPolicy
+        int candidateCost = (localSearchPolicy.needsCandidateCost() && move != null)
+                          ? move.evaluate(currentSolution).makespan : currentCost;
+        boolean improve = localSearchPolicy.shouldImprove(candidateCost, currentCost, historyCost, random);
+        Solution neighbor;
+        long localSearchNanos = 0;
+        int localSearchGain = 0;
+        if (improve) {
+            //la recherche locale modifie beaucoup de machines => on travaille sur une copie (copy-on-write)
+            neighbor = currentSolution.copy();
+            if (move != null) {
+                move.apply(neighbor);
             }
-            
-            // d. Mettre à jour la meilleure solution
-            if (neighborCost < bestSolution.getMakespan()) {
-                bestSolution = neighbor.copy();
-                bestMakespan = neighborCost;
-                lastImprovementIteration = iterationCount;
-                nonImprovementCount = 0;
-                
-                if (iterationCount % 100 == 0) {
-                    System.out.printf("Iteration %d: New best makespan = %d%n", 
-                                    iterationCount, neighborCost);
-                }
-            } else {
-                nonImprovementCount++;
+            int beforeLocalSearch = neighbor.getMakespan();
+            boolean timeLocalSearch = metrics != null || localSearchPolicy.needsTiming();
+            long localSearchStart = timeLocalSearch ? System.nanoTime() : 0;
+            localSearch.improveInPlace(neighbor);
+            if (timeLocalSearch) {
+                localSearchNanos = System.nanoTime() - localSearchStart;
             }
-            
-            // e. Mettre à jour la liste historique
-            historyList[iterationCount % historyLength] = currentSolution.getMakespan();
-            //historyList[iterationCount % historyLength] = neighborCost;
-            
-            // Affichage périodique
-            if (iterationCount % 1000 == 0) {
-                System.out.printf("Iteration %d / %d - Best: %d, Current: %d%n",
-                                iterationCount, maxIterations, 
-                                bestSolution.getMakespan(), currentCost);
+            localSearchGain = beforeLocalSearch - neighbor.getMakespan();
+        } else {
+            //sinon on applique le mouvement en place, et on l'annulera s'il est refusé
+            neighbor = currentSolution;
+            if (move != null) {
+                move.apply(neighbor);
             }
         }
-        long totalTime = System.currentTimeMillis() - startTime;
-        System.out.println("\nLAHC finished:");
-        System.out.println("  Total iterations: " + iterationCount);
-        System.out.println("  Total time: " + (totalTime / 1000.0) + " s");
-        System.out.println("  Last improvement at iteration: " + lastImprovementIteration);
-        System.out.println("  Initial makespan: " + initialMakespan);
-        System.out.println("  Final makespan: " + bestSolution.getMakespan());
-        System.out.printf("  Improvement: %.2f%%%n", 
-                        100.0 * (initialMakespan - bestSolution.getMakespan()) / initialMakespan);
         
-        return bestSolution;
+        int neighborCost = neighbor.getMakespan();
+        
+        // c. Mettre à jour la meilleure solution (copie uniquement sur nouveau meilleur)
+        boolean newBest = neighborCost < bestSolution.getMakespan();
+        if (newBest) {
+            commitImprovement(bestSolution.getMakespan(), neighborCost);
+            bestSolution = neighbor.copy();
+            bestMakespan = neighborCost;
+            lastImprovementIteration = iterationCount;
+            tracker.onImprovement();
+            listener.onImprovement(iterationCount, neighborCost, tracker.elapsedNanos());
+        } else {
+            tracker.onNoImprovement();
+        }
+        
+        // d. Critère d'acceptation LAHC : on garde le voisin, ou on revient en arrière
+        boolean accepted = neighborCost <= currentCost || neighborCost < historyCost;
+        if (accepted) { //we could have used an "acceptSolution" method but whatever
+            //neighbor = localSearch.improve(neighbor); //FIX either only on the accepted or on some of em 
+            currentSolution = neighbor;
+        } else if (neighbor == currentSolution && move != null) {
+            move.undo(currentSolution); //rollback du mouvement appliqué en place
+        }
+        
+        // e. Mettre à jour la liste historique
+        historyList[iterationCount % historyLength] = currentSolution.getMakespan();
+        //historyList[iterationCount % historyLength] = neighborCost;
+        
+        // progression périodique
+        if (iterationCount % progressInterval == 0) {
+            listener.onProgress(iterationCount, bestMakespan, currentSolution.getMakespan(), tracker.elapsedNanos());
+        }
+        
+        //le mouvement proposé + ceux évalués par la recherche locale
+        long evaluations = 1 + localSearch.getEvaluationCount() - evaluationsBefore;
+        tracker.addEvaluations(evaluations);
+        if (improve) {
+            localSearchPolicy.recordApplied(localSearchNanos, evaluations - 1, localSearchGain, accepted);
+        } else {
+            localSearchPolicy.recordSkipped(accepted);
+        }
+        long nanos = timed ? System.nanoTime() - start : 0;
+        operatorSelector.update(operatorIndex, currentCost, neighborCost, nanos);
+        
+        if (metrics != null) {
+            //hit de la liste historique = accepté alors que pire que la solution courante
+            boolean historyHit = accepted && neighborCost > currentCost;
+            operatorMetrics[operatorIndex].recordCall(nanos, evaluations, neighborCost < currentCost);
+            operatorMetrics[operatorIndex].recordOutcome(accepted, historyHit);
+            iterationMetrics.recordCall(nanos, evaluations, newBest);
+            iterationMetrics.recordOutcome(accepted, historyHit);
+        }
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.iteration = iterationCount;
+            event.operator = operator.getClass().getSimpleName();
+            event.makespanBefore = currentCost;
+            event.makespanAfter = neighborCost;
+            event.accepted = accepted;
+            event.evaluations = evaluations;
+            event.commit();
+        }
+        
+        if (iterationHook != null) {
+            iterationHook.afterIteration(this, iterationCount);
+        }
+    }
+
+    //remplace la solution courante par une solution venue d'ailleurs (migration entre îles)
+    //seedHistory => la liste historique repart du coût de l'immigrant
+    //à appeler uniquement depuis le thread qui exécute solve (typiquement dans un IterationHook)
+    void acceptImmigrant(Solution immigrant, boolean seedHistory) {
+        currentSolution = immigrant;
+        int cost = immigrant.getMakespan();
+        if (cost < bestSolution.getMakespan()) {
+            commitImprovement(bestSolution.getMakespan(), cost);
+            bestSolution = immigrant.copy();
+            bestMakespan = cost;
+            lastImprovementIteration = iterationCount;
+            tracker.onImprovement();
+            listener.onImprovement(iterationCount, cost, tracker.elapsedNanos());
+        }
+        if (seedHistory) {
+            Arrays.fill(historyList, cost);
+        }
+    }
+
+    //événement JFR lahc.Improvement (instantané)
+    private void commitImprovement(int previousBest, int newBest) {
+        SearchEvents.Improvement event = new SearchEvents.Improvement();
+        if (event.isEnabled()) {
+            event.iteration = iterationCount;
+            event.previousBest = previousBest;
+            event.newBest = newBest;
+            event.commit();
+        }
+    }
+
+    //appelé à la fin de chaque itération, dans le thread de la recherche
+    interface IterationHook {
+        void afterIteration(LAHCMetaheuristic lahc, int iteration);
+    }
+
+    void setIterationHook(IterationHook iterationHook) {
+        this.iterationHook = iterationHook;
+    }
+
+    //budget explicite, sinon celui du papier ajusté par setTimeLimit / setMaxIterations / setNonImprovementLimit
+    private SearchBudget resolveBudget(Instance instance) {
+        if (budget != null) {
+            return budget;
+        }
+        SearchBudget resolved = SearchBudget.paperDefault(instance.getNumberOfJobs(), instance.getNumberOfMachines())
+                                            .withMaxIterations(maxIterations)
+                                            .withNonImprovementLimit(nonImprovementLimit);
+        return (timeLimitMs > 0) ? resolved.withTimeLimit(timeLimitMs) : resolved;
     }
 
     //setters 
+    //remplace complètement les limites des autres setters
+    public void setBudget(SearchBudget budget) {
+        this.budget = budget;
+    }
+
     public void setMaxIterations(int maxIterations) {
         this.maxIterations = maxIterations;
     }
@@ -158,6 +329,76 @@ public class LAHCMetaheuristic {
         this.nonImprovementLimit = limit;
     }
 
+    //wall-clock budget in ms (<= 0 => default n*m/2 s)
+    public void setTimeLimit(long timeLimitMs) {
+        this.timeLimitMs = timeLimitMs;
+    }
+
+    //progression / améliorations (SearchListener.NONE = silencieux, par défaut)
+    public void setListener(SearchListener listener) {
+        this.listener = (listener == null) ? SearchListener.NONE : listener;
+    }
+
+    //opérateur de voisinage supplémentaire (avant solve), tiré par le sélecteur comme les deux du papier
+    public void addOperator(NeighborhoodOperator operator) {
+        operators.add(operator);
+        if (metrics != null) {
+            setMetrics(metrics); //compteurs du nouvel opérateur
+        }
+    }
+
+    public List<NeighborhoodOperator> getOperators() {
+        return Collections.unmodifiableList(operators);
+    }
+
+    //choix de l'opérateur à chaque itération (ex. AdaptiveOperatorSelector), une instance par recherche
+    public void setOperatorSelector(OperatorSelector operatorSelector) {
+        this.operatorSelector = (operatorSelector == null) ? new UniformOperatorSelector() : operatorSelector;
+    }
+
+    public OperatorSelector getOperatorSelector() {
+        return operatorSelector;
+    }
+
+    //quand lancer la recherche locale et avec quels plafonds (une instance par recherche)
+    public void setLocalSearchPolicy(LocalSearchPolicy localSearchPolicy) {
+        this.localSearchPolicy = (localSearchPolicy == null) ? LocalSearchPolicy.always() : localSearchPolicy;
+    }
+
+    public LocalSearchPolicy getLocalSearchPolicy() {
+        return localSearchPolicy;
+    }
+
+    //raccourci pour getLocalSearchPolicy().setScanStrategy : parcours des voisinages des 5 opérateurs (cf ScanStrategy)
+    public void setScanStrategy(ScanStrategy strategy) {
+        localSearchPolicy.setScanStrategy(strategy);
+    }
+
+    //compteurs par opérateur, acceptation, débit (null pour désactiver), partageable entre recherches
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+        if (metrics == null) {
+            iterationMetrics = null;
+            operatorMetrics = null;
+            localSearch.setMetrics(null);
+            return;
+        }
+        iterationMetrics = metrics.operator(SearchMetrics.ITERATION);
+        localSearch.setMetrics(metrics);
+        operatorMetrics = new OperatorMetrics[operators.size()];
+        for (int i = 0; i < operatorMetrics.length; i++) {
+            operatorMetrics[i] = metrics.operator("nb." + operators.get(i).getClass().getSimpleName());
+        }
+    }
+
+    public SearchMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setProgressInterval(int iterations) {
+        this.progressInterval = Math.max(1, iterations);
+    }
+
     public Solution getBestSolution() {
         return bestSolution;
     }
@@ -191,4 +432,25 @@ public class LAHCMetaheuristic {
     public int getLastImprovementIteration() {
         return lastImprovementIteration;
     }
+
+    public long getTotalTimeMs() {
+        return totalTimeMs;
+    }
+
+    //temps par phase : construction (heuristique initiale) puis boucle LAHC
+    public long getConstructionTimeNanos() {
+        return constructionTimeNanos;
+    }
+
+    public long getSearchTimeNanos() {
+        return searchTimeNanos;
+    }
+
+    public long getEvaluationCount() {
+        return (tracker == null) ? 0 : tracker.getEvaluations();
+    }
+
+    public SearchBudget.StopReason getStopReason() {
+        return (tracker == null) ? SearchBudget.StopReason.NONE : tracker.getStopReason();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package algo.metaheuristic;
+
+import algo.localsearch.LocalSearch;
+import algo.localsearch.ScanStrategy;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Quand appliquer la recherche locale au voisin d'une itération LAHC, et avec quelles limites.
+ * C'est le gros du coût d'une itération : ne pas la lancer sur un voisin sans avenir, ou l'arrêter
+ * plus tôt, multiplie le nombre d'itérations par seconde.
+ *
+ *   always()              : à chaque itération (comportement du papier, par défaut)
+ *   probability(p)        : avec la probabilité p
+ *   withinHistory(x)      : si le voisin (avant recherche locale) est à moins de x% du seuil
+ *                           d'acceptation LAHC, max(coût courant, coût de la liste historique)
+ *
+ * + setMaxPasses / setMaxEvaluations : plafonds par appel de la recherche locale,
+ *   setCandidateListSize : listes de candidats de l'opérateur 5 (cf LocalSearch.setCandidateListSize),
+ *   setScanStrategy : BEST / FIRST / bestOfSample(k) par opérateur (cf ScanStrategy).
+ *
+ * Chaque politique compte ce qu'elle coûte (évaluations, et temps si setTimed(true) ou métriques activées
+ * dans LAHC : sinon l'horloge n'est pas lue) et ce qu'elle rapporte (gain de makespan de la recherche
+ * locale, voisins acceptés) => comparables directement (cf toString).
+ * Une instance par recherche (compteurs non synchronisés).
+ */
+public abstract class LocalSearchPolicy {
+    private final String name;
+    private int maxPasses = 100; //ancien MaxIterLocal
+    private long maxEvaluations; // <= 0 : pas de limite
+    private int candidateListSize; //0 : toutes les positions
+    private boolean timed; //mesurer le temps de chaque recherche locale (2 lectures d'horloge par itération)
+    private final ScanStrategy[] scanStrategies = new ScanStrategy[LocalSearch.Operator.values().length]; //null : BEST
+
+    //compteurs
+    private long skipped;
+    private long skippedAccepted;
+    private long applied;
+    private long appliedAccepted;
+    private long nanos;
+    private long evaluations;
+    private long gain;
+
+    protected LocalSearchPolicy(String name) {
+        this.name = name;
+    }
+
+    //candidateCost = makespan du voisin avant recherche locale (= currentCost si needsCandidateCost est faux)
+    public abstract boolean shouldImprove(int candidateCost, int currentCost, int historyCost, SplittableRandom random);
+
+    //le coût du voisin demande une évaluation du mouvement, on ne la fait que si la politique s'en sert
+    public boolean needsCandidateCost() {
+        return false;
+    }
+
+    public static LocalSearchPolicy always() {
+        return new LocalSearchPolicy("always") {
+            @Override
+            public boolean shouldImprove(int candidateCost, int currentCost, int historyCost, SplittableRandom random) {
+                return true;
+            }
+        };
+    }
+
+    public static LocalSearchPolicy probability(double p) {
+        if (p < 0 || p > 1) {
+            throw new IllegalArgumentException("Probability out of [0, 1]: " + p);
+        }
+        return new LocalSearchPolicy("probability(" + p + ")") {
+            @Override
+            public boolean shouldImprove(int candidateCost, int currentCost, int historyCost, SplittableRandom random) {
+                return random.nextDouble() < p;
+            }
+        };
+    }
+
+    public static LocalSearchPolicy withinHistory(double percent) {
+        if (percent < 0) {
+            throw new IllegalArgumentException("Negative percentage: " + percent);
+        }
+        double factor = 1 + percent / 100.0;
+        return new LocalSearchPolicy("withinHistory(" + percent + "%)") {
+            @Override
+            public boolean shouldImprove(int candidateCost, int currentCost, int historyCost, SplittableRandom random) {
+                //un voisin déjà acceptable par le critère "<= courant" ne doit pas être écarté
+                return candidateCost <= Math.max(currentCost, historyCost) * factor;
+            }
+
+            @Override
+            public boolean needsCandidateCost() {
+                return true;
+            }
+        };
+    }
+
+    //plafonds de chaque appel de la recherche locale
+    //passes = tours des 5 opérateurs ; évaluations : cf LocalSearch.setMaxEvaluations (<= 0 : pas de limite)
+    public void setMaxPasses(int maxPasses) {
+        this.maxPasses = Math.max(1, maxPasses);
+    }
+
+    public void setMaxEvaluations(long maxEvaluations) {
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    public void setCandidateListSize(int candidateListSize) {
+        this.candidateListSize = Math.max(0, candidateListSize);
+    }
+
+    public void setScanStrategy(LocalSearch.Operator operator, ScanStrategy strategy) {
+        scanStrategies[operator.ordinal()] = strategy;
+    }
+
+    //même stratégie pour les 5 opérateurs
+    public void setScanStrategy(ScanStrategy strategy) {
+        Arrays.fill(scanStrategies, strategy);
+    }
+
+    public ScanStrategy getScanStrategy(LocalSearch.Operator operator) {
+        ScanStrategy strategy = scanStrategies[operator.ordinal()];
+        return (strategy == null) ? ScanStrategy.BEST : strategy;
+    }
+
+    public void setTimed(boolean timed) {
+        this.timed = timed;
+    }
+
+    //true si la politique veut le temps de la recherche locale (compteur getTimeNanos, gain par seconde)
+    public boolean needsTiming() {
+        return timed;
+    }
+
+    public int getCandidateListSize() {
+        return candidateListSize;
+    }
+
+    public int getMaxPasses() {
+        return maxPasses;
+    }
+
+    public long getMaxEvaluations() {
+        return maxEvaluations;
+    }
+
+    //appelés par LAHCMetaheuristic
+    void recordSkipped(boolean accepted) {
+        skipped++;
+        if (accepted) {
+            skippedAccepted++;
+        }
+    }
+
+    void recordApplied(long nanos, long evaluations, int gain, boolean accepted) {
+        applied++;
+        this.nanos += nanos;
+        this.evaluations += evaluations;
+        this.gain += gain;
+        if (accepted) {
+            appliedAccepted++;
+        }
+    }
+
+    public void resetCounters() {
+        skipped = skippedAccepted = applied = appliedAccepted = nanos = evaluations = gain = 0;
+    }
+
+    //getters
+    public String getName() {
+        return name;
+    }
+
+    public long getAppliedCount() {
+        return applied;
+    }
+
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    public long getAppliedAcceptedCount() {
+        return appliedAccepted;
+    }
+
+    public long getSkippedAcceptedCount() {
+        return skippedAccepted;
+    }
+
+    //coût : temps (0 sans needsTiming ni métriques) et évaluations passés dans la recherche locale
+    public long getTimeNanos() {
+        return nanos;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    //bénéfice : makespan gagné par la recherche locale (voisin avant - après), cumulé
+    public long getGain() {
+        return gain;
+    }
+
+    //gain de makespan par seconde de recherche locale
+    public double getGainPerSecond() {
+        return (nanos == 0) ? 0 : gain * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        long total = applied + skipped;
+        return String.format("LocalSearchPolicy %s: applied %d/%d (%.1f%%), %.1f ms, %d evaluations, gain %d (%.1f/s), accepted %d applied + %d skipped (max %d passes, %d evaluations)",
+                             name, applied, total, (total == 0) ? 0.0 : 100.0 * applied / total, nanos / 1e6, evaluations,
+                             gain, getGainPerSecond(), appliedAccepted, skippedAccepted, maxPasses, maxEvaluations);
+    }
+}
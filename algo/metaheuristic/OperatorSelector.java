@@ -0,0 +1,27 @@
+package algo.metaheuristic;
+
+import java.util.SplittableRandom;
+
+/**
+ * Choix de l'opérateur de voisinage à chaque itération LAHC, parmi operatorCount opérateurs (indices).
+ * 
+ * Une instance par recherche (état propre, appelé uniquement depuis le thread de la recherche).
+ * Le tirage utilise le générateur de la recherche => même graine = mêmes choix.
+ */
+public interface OperatorSelector {
+    
+    //début de recherche (initialize), oublie tout ce qui a été appris
+    void reset(int operatorCount);
+    
+    int select(SplittableRandom random);
+    
+    //retour de l'itération : coût courant, coût du voisin après recherche locale, durée de l'itération
+    //(nanos = 0 si ni needsTiming ni les métriques ne demandent l'horloge)
+    default void update(int operator, int currentCost, int neighborCost, long nanos) {
+    }
+    
+    //true si update se sert de nanos => LAHC lit l'horloge à chaque itération
+    default boolean needsTiming() {
+        return false;
+    }
+}
@@ -0,0 +1,200 @@
+package algo.metaheuristic;
+
+import algo.heuristic.*;
+import algo.metrics.*;
+import domain.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import solution.*;
+
+/**
+ * Multi-start LAHC : K recherches LAHC indépendantes en parallèle, chacune avec sa graine
+ * et ses propres opérateurs, sous un budget de temps commun. On garde la meilleure solution.
+ * 
+ * L'instance est partagée en lecture seule entre les workers, les solutions ne le sont jamais.
+ */
+public class ParallelLAHC {
+    private final Heuristic heuristic;
+    private final int numWorkers;
+    private final int historyLength;
+    private final long seed;
+    
+    private Executor executor; //null => pool de numWorkers threads créé (et fermé) par solve
+    private long timeLimitMs; // <= 0 : n*m/2 secondes comme LAHC
+    private int nonImprovementLimit = 1000;
+    private SearchBudget budget; //null => budget du papier ajusté par les setters
+    private SearchListener listener = SearchListener.NONE; //partagé par tous les workers
+    private SearchMetrics metrics; //idem, null => pas de mesures
+    private Supplier<OperatorSelector> operatorSelector; //un sélecteur par worker, null => uniforme
+    private Supplier<LocalSearchPolicy> localSearchPolicy; //idem, null => recherche locale à chaque itération
+    
+    private List<WorkerStats> workerStats = new ArrayList<>();
+    private Solution bestSolution;
+
+    //one worker per core by default
+    public ParallelLAHC(Heuristic heuristic) {
+        this(heuristic, Runtime.getRuntime().availableProcessors(), 30, System.nanoTime());
+    }
+    
+    public ParallelLAHC(Heuristic heuristic, int numWorkers, int historyLength, long seed) {
+        if (numWorkers < 1) {
+            throw new IllegalArgumentException("At least one worker is needed: " + numWorkers);
+        }
+        this.heuristic = heuristic;
+        this.numWorkers = numWorkers;
+        this.historyLength = historyLength;
+        this.seed = seed;
+    }
+    
+    public Solution solve(Instance instance) {
+        SearchBudget workerBudget = budget;
+        if (workerBudget == null) {
+            workerBudget = SearchBudget.paperDefault(instance.getNumberOfJobs(), instance.getNumberOfMachines())
+                                       .withNonImprovementLimit(nonImprovementLimit);
+            if (timeLimitMs > 0) {
+                workerBudget = workerBudget.withTimeLimit(timeLimitMs);
+            }
+        }
+        SearchBudget shared = workerBudget;
+        //échéance commune à tous les workers (0 => pas de limite de temps)
+        long deadline = (shared.getTimeLimitNanos() > 0) ? System.nanoTime() + shared.getTimeLimitNanos() : 0;
+        
+        ExecutorService ownPool = null;
+        Executor exec = executor;
+        if (exec == null) {
+            ownPool = Executors.newFixedThreadPool(numWorkers);
+            exec = ownPool;
+        }
+        
+        //un flux indépendant par worker (split), tous dérivés d'une seule graine
+        SplittableRandom streams = new SplittableRandom(seed);
+        List<CompletableFuture<WorkerStats>> futures = new ArrayList<>();
+        try {
+            for (int w = 0; w < numWorkers; w++) {
+                int worker = w;
+                SplittableRandom workerRandom = streams.split();
+                futures.add(CompletableFuture.supplyAsync(() -> runWorker(worker, workerRandom, instance, shared, deadline), exec));
+            }
+            
+            workerStats = new ArrayList<>();
+            bestSolution = null;
+            for (CompletableFuture<WorkerStats> future : futures) {
+                WorkerStats stats = future.join();
+                workerStats.add(stats);
+                //égalité => le plus petit indice de worker gagne
+                if (bestSolution == null || stats.bestMakespan < bestSolution.getMakespan()) {
+                    bestSolution = stats.solution;
+                }
+            }
+        } finally {
+            if (ownPool != null) {
+                ownPool.shutdownNow();
+            }
+        }
+        return bestSolution;
+    }
+    
+    private WorkerStats runWorker(int worker, SplittableRandom workerRandom, Instance instance, SearchBudget shared, long deadline) {
+        LAHCMetaheuristic lahc = new LAHCMetaheuristic(heuristic, historyLength, workerRandom);
+        lahc.setListener(listener);
+        lahc.setMetrics(metrics);
+        if (operatorSelector != null) {
+            lahc.setOperatorSelector(operatorSelector.get());
+        }
+        if (localSearchPolicy != null) {
+            lahc.setLocalSearchPolicy(localSearchPolicy.get());
+        }
+        //un worker qui démarre en retard (executor saturé) n'a droit qu'au temps restant
+        lahc.setBudget((deadline == 0) ? shared : shared.withTimeLimitNanos(Math.max(1, deadline - System.nanoTime())));
+        prepareWorker(lahc, worker);
+        
+        Solution solution = lahc.solve(instance);
+        return new WorkerStats(worker, solution, lahc.getInitialMakespan(), lahc.getBestMakespan(),
+                               lahc.getIterationCount(), lahc.getLastImprovementIteration(), lahc.getTotalTimeMs());
+    }
+    
+    //point d'extension pour les sous-classes (migration des îles), appelé dans le thread du worker
+    protected void prepareWorker(LAHCMetaheuristic lahc, int worker) {
+    }
+    
+    //setters
+    //reçoit les événements de tous les workers, depuis leurs threads
+    public void setListener(SearchListener listener) {
+        this.listener = (listener == null) ? SearchListener.NONE : listener;
+    }
+    
+    //un seul registre pour tous les workers (LongAdder => pas de contention)
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    //ex. AdaptiveOperatorSelector::new, appelé une fois par worker (un sélecteur a un état)
+    public void setOperatorSelector(Supplier<OperatorSelector> operatorSelector) {
+        this.operatorSelector = operatorSelector;
+    }
+    
+    //ex. () -> LocalSearchPolicy.withinHistory(1), une politique par worker (compteurs)
+    public void setLocalSearchPolicy(Supplier<LocalSearchPolicy> localSearchPolicy) {
+        this.localSearchPolicy = localSearchPolicy;
+    }
+    
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+    
+    //shared wall-clock budget in ms (<= 0 => default n*m/2 s)
+    public void setTimeLimit(long timeLimitMs) {
+        this.timeLimitMs = timeLimitMs;
+    }
+    
+    public void setNonImprovementLimit(int limit) {
+        this.nonImprovementLimit = limit;
+    }
+    
+    //budget de chaque worker, la limite de temps étant partagée (remplace les deux setters ci-dessus)
+    public void setBudget(SearchBudget budget) {
+        this.budget = budget;
+    }
+    
+    //getters
+    public Solution getBestSolution() {
+        return bestSolution;
+    }
+    
+    public List<WorkerStats> getWorkerStats() {
+        return Collections.unmodifiableList(workerStats);
+    }
+    
+    public int getNumberOfWorkers() {
+        return numWorkers;
+    }
+    
+    //stats d'un worker à la fin de sa recherche
+    public static class WorkerStats {
+        public final int worker;
+        public final Solution solution;
+        public final int initialMakespan;
+        public final int bestMakespan;
+        public final int iterations;
+        public final int lastImprovementIteration;
+        public final long timeMs;
+        
+        WorkerStats(int worker, Solution solution, int initialMakespan, int bestMakespan,
+                    int iterations, int lastImprovementIteration, long timeMs) {
+            this.worker = worker;
+            this.solution = solution;
+            this.initialMakespan = initialMakespan;
+            this.bestMakespan = bestMakespan;
+            this.iterations = iterations;
+            this.lastImprovementIteration = lastImprovementIteration;
+            this.timeMs = timeMs;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Worker %d: %d -> %d, %d iterations (last improvement %d), %d ms",
+                                 worker, initialMakespan, bestMakespan, iterations, lastImprovementIteration, timeMs);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package algo.metaheuristic;
+
+/**
+ * Budget d'une recherche : temps (nanoTime), itérations, évaluations de mouvements et itérations
+ * sans amélioration, combinables librement. Une limite <= 0 est désactivée.
+ * 
+ * Immutable => un même budget peut être partagé entre plusieurs recherches (threads).
+ * Chaque recherche suit sa consommation avec son propre Tracker (start()).
+ * 
+ * L'horloge n'est lue qu'au plus toutes les clockCheckInterval itérations. L'intervalle part de 1 et double
+ * tant que les itérations mesurées sont assez rapides, sans dépasser CLOCK_SLICE_NANOS de calcul entre deux
+ * lectures : quand les itérations sont lentes (recherche locale sur une grosse instance), l'horloge est lue
+ * à chaque itération.
+ * 
+ * Dépassement de l'échéance : le budget n'est vérifié qu'entre deux itérations, donc au pire une itération
+ * (voisin + recherche locale) plus CLOCK_SLICE_NANOS. LAHCMetaheuristic passe l'échéance à la recherche
+ * locale (LocalSearch.setDeadline), qui s'arrête avant l'opérateur suivant (ou le mouvement suivant pour
+ * les opérateurs 4 et 5) => le dépassement est de l'ordre d'un appel d'opérateur, ex. ~5 ms sur 150x5,
+ * jusqu'à ~100 ms sur 600x20. Pour une échéance plus stricte : LocalSearchPolicy.setMaxEvaluations.
+ */
+public final class SearchBudget {
+    public enum StopReason { NONE, TIME, ITERATIONS, EVALUATIONS, NON_IMPROVEMENT }
+    
+    private static final int DEFAULT_CLOCK_CHECK_INTERVAL = 64;
+    private static final long CLOCK_SLICE_NANOS = 1_000_000L; //calcul max entre deux lectures de l'horloge : ~1 ms
+    
+    private final long timeLimitNanos;
+    private final long maxIterations;
+    private final long maxEvaluations;
+    private final long nonImprovementLimit;
+    private final int clockCheckInterval;
+    
+    private SearchBudget(long timeLimitNanos, long maxIterations, long maxEvaluations,
+                         long nonImprovementLimit, int clockCheckInterval) {
+        this.timeLimitNanos = timeLimitNanos;
+        this.maxIterations = maxIterations;
+        this.maxEvaluations = maxEvaluations;
+        this.nonImprovementLimit = nonImprovementLimit;
+        this.clockCheckInterval = Math.max(1, clockCheckInterval);
+    }
+    
+    //aucune limite : à combiner avec les with*
+    public static SearchBudget unlimited() {
+        return new SearchBudget(0, 0, 0, 0, DEFAULT_CLOCK_CHECK_INTERVAL);
+    }
+    
+    //budget du papier : n*m/2 secondes et 1000 itérations sans amélioration
+    public static SearchBudget paperDefault(int numJobs, int numMachines) {
+        return unlimited().withTimeLimit((long) (numJobs * numMachines / 2.0 * 1000))
+                          .withNonImprovementLimit(1000);
+    }
+    
+    public SearchBudget withTimeLimit(long ms) {
+        return new SearchBudget(ms * 1_000_000L, maxIterations, maxEvaluations, nonImprovementLimit, clockCheckInterval);
+    }
+    
+    public SearchBudget withTimeLimitNanos(long nanos) {
+        return new SearchBudget(nanos, maxIterations, maxEvaluations, nonImprovementLimit, clockCheckInterval);
+    }
+    
+    public SearchBudget withMaxIterations(long iterations) {
+        return new SearchBudget(timeLimitNanos, iterations, maxEvaluations, nonImprovementLimit, clockCheckInterval);
+    }
+    
+    public SearchBudget withMaxEvaluations(long evaluations) {
+        return new SearchBudget(timeLimitNanos, maxIterations, evaluations, nonImprovementLimit, clockCheckInterval);
+    }
+    
+    public SearchBudget withNonImprovementLimit(long iterations) {
+        return new SearchBudget(timeLimitNanos, maxIterations, maxEvaluations, iterations, clockCheckInterval);
+    }
+    
+    public SearchBudget withClockCheckInterval(int iterations) {
+        return new SearchBudget(timeLimitNanos, maxIterations, maxEvaluations, nonImprovementLimit, iterations);
+    }
+    
+    //getters
+    public long getTimeLimitNanos() {
+        return timeLimitNanos;
+    }
+    
+    public long getMaxIterations() {
+        return maxIterations;
+    }
+    
+    public long getMaxEvaluations() {
+        return maxEvaluations;
+    }
+    
+    public long getNonImprovementLimit() {
+        return nonImprovementLimit;
+    }
+    
+    public int getClockCheckInterval() {
+        return clockCheckInterval;
+    }
+    
+    //démarre le chronomètre
+    public Tracker start() {
+        return new Tracker(System.nanoTime());
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SearchBudget[time=%d ms, iterations=%d, evaluations=%d, nonImprovement=%d]",
+                             timeLimitNanos / 1_000_000L, maxIterations, maxEvaluations, nonImprovementLimit);
+    }
+    
+    //consommation d'une recherche, utilisé par un seul thread
+    public final class Tracker {
+        private final long startNanos;
+        private long iterations;
+        private long evaluations;
+        private long nonImprovement;
+        private StopReason stopReason = StopReason.NONE;
+        
+        //échantillonnage de l'horloge : première lecture après 1 itération, puis intervalle adaptatif
+        private long nextClockCheck = 1;
+        private long clockInterval = 1;
+        private long lastClockNanos;
+        private long lastClockIteration;
+        
+        private Tracker(long startNanos) {
+            this.startNanos = startNanos;
+            this.lastClockNanos = startNanos;
+        }
+        
+        //true si on peut faire une itération de plus (et la compte), false si le budget est épuisé
+        public boolean next() {
+            if (stopReason != StopReason.NONE) {
+                return false;
+            }
+            if (maxIterations > 0 && iterations >= maxIterations) {
+                stopReason = StopReason.ITERATIONS;
+            } else if (maxEvaluations > 0 && evaluations >= maxEvaluations) {
+                stopReason = StopReason.EVALUATIONS;
+            } else if (nonImprovementLimit > 0 && nonImprovement >= nonImprovementLimit) {
+                stopReason = StopReason.NON_IMPROVEMENT;
+            } else if (timeLimitNanos > 0 && iterations >= nextClockCheck && clockExpired()) {
+                stopReason = StopReason.TIME;
+            }
+            if (stopReason != StopReason.NONE) {
+                return false;
+            }
+            iterations++;
+            return true;
+        }
+        
+        //lit l'horloge et planifie la prochaine lecture d'après le coût moyen des dernières itérations
+        //(au plus le double de l'intervalle précédent : une itération rapide isolée ne fait pas sauter à 64)
+        private boolean clockExpired() {
+            long now = System.nanoTime();
+            long done = iterations - lastClockIteration;
+            long perIteration = Math.max(1, (now - lastClockNanos) / Math.max(1, done));
+            long affordable = CLOCK_SLICE_NANOS / perIteration;
+            clockInterval = Math.max(1, Math.min(Math.min(2 * clockInterval, affordable), clockCheckInterval));
+            lastClockNanos = now;
+            lastClockIteration = iterations;
+            nextClockCheck = iterations + clockInterval;
+            return now - startNanos >= timeLimitNanos;
+        }
+        
+        //échéance (System.nanoTime) du budget de temps, à comparer par différence ; false si pas de limite de temps
+        public boolean hasDeadline() {
+            return timeLimitNanos > 0;
+        }
+        
+        public long getDeadlineNanos() {
+            return startNanos + timeLimitNanos;
+        }
+        
+        public void addEvaluations(long count) {
+            evaluations += count;
+        }
+        
+        public void onImprovement() {
+            nonImprovement = 0;
+        }
+        
+        public void onNoImprovement() {
+            nonImprovement++;
+        }
+        
+        public long getIterations() {
+            return iterations;
+        }
+        
+        public long getEvaluations() {
+            return evaluations;
+        }
+        
+        public long getNonImprovementCount() {
+            return nonImprovement;
+        }
+        
+        public long elapsedNanos() {
+            return System.nanoTime() - startNanos;
+        }
+        
+        public StopReason getStopReason() {
+            return stopReason;
+        }
+    }
+}
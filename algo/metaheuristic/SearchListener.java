@@ -0,0 +1,32 @@
+package algo.metaheuristic;
+
+/**
+ * Événements d'une recherche LAHC (début, nouveau meilleur, progression périodique, fin).
+ * 
+ * Appelé dans le thread de la recherche => une implémentation doit rendre la main tout de suite
+ * (pas d'I/O synchrone, cf AsyncConsoleListener). Avec ParallelLAHC / IslandLAHC un même listener
+ * reçoit les événements de tous les workers en même temps.
+ * 
+ * Toutes les méthodes ne font rien par défaut, NONE est le listener silencieux par défaut.
+ */
+public interface SearchListener {
+    
+    SearchListener NONE = new SearchListener() { };
+    
+    //solution initiale construite, la boucle LAHC démarre
+    default void onStart(int initialMakespan) {
+    }
+    
+    //nouveau meilleur makespan
+    default void onImprovement(int iteration, int bestMakespan, long elapsedNanos) {
+    }
+    
+    //toutes les progressInterval itérations
+    default void onProgress(int iteration, int bestMakespan, int currentMakespan, long elapsedNanos) {
+    }
+    
+    //fin de la recherche
+    default void onFinish(int iterations, int initialMakespan, int bestMakespan, long elapsedNanos,
+                          SearchBudget.StopReason stopReason) {
+    }
+}
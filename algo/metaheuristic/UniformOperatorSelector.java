@@ -0,0 +1,18 @@
+package algo.metaheuristic;
+
+import java.util.SplittableRandom;
+
+//tirage uniforme (50%-50% avec les 2 opérateurs du papier), sélecteur par défaut
+public class UniformOperatorSelector implements OperatorSelector {
+    private int operatorCount;
+    
+    @Override
+    public void reset(int operatorCount) {
+        this.operatorCount = operatorCount;
+    }
+    
+    @Override
+    public int select(SplittableRandom random) {
+        return random.nextInt(operatorCount);
+    }
+}
@@ -0,0 +1,98 @@
+package algo.metrics;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Histogramme de durées (ns) à la HdrHistogram : log-linéaire, 8 sous-buckets par puissance de 2
+ * => ~12% d'erreur relative au pire sur un percentile, sur toute la plage des long, en 512 compteurs.
+ *
+ * record() est sans verrou et sans point chaud : un LongAdder par bucket (striped, comme count et sum) et
+ * un LongAccumulator pour le max => les workers qui partagent un registre ne se disputent pas les mêmes
+ * lignes de cache. Les lectures (getPercentile, getMax...) font la somme des cellules, plus chères mais rares.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private final LongAdder[] counts = new LongAdder[64 * SUB_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucket(value)].increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return (n == 0) ? 0 : (double) sum.sum() / n;
+    }
+
+    //borne haute du bucket qui contient le percentile p (0-100), 0 si vide
+    public long getPercentile(double p) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i].sum();
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    //pas atomique vis-à-vis des record() concurrents (les compteurs peuvent être légèrement décalés)
+    public void reset() {
+        for (LongAdder bucket : counts) {
+            bucket.reset();
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    //valeurs < 8 exactes, puis 8 buckets par puissance de 2
+    static int bucket(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_COUNT - 1;
+        long lower = (long) (SUB_COUNT + bucket % SUB_COUNT) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,100 @@
+package algo.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'un opérateur (recherche locale, voisinage, ou l'itération LAHC elle-même).
+ * LongAdder => pas de contention quand plusieurs workers partagent le même registre.
+ *
+ * invocations / évaluations de mouvements / améliorations / durée de chaque appel, et pour ce qui
+ * passe par le critère LAHC : acceptés, rejetés, et acceptés grâce à la liste historique seulement.
+ */
+public final class OperatorMetrics {
+    private final String name;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder improvements = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder historyHits = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperatorMetrics(String name) {
+        this.name = name;
+    }
+
+    //un appel : durée, mouvements évalués, et s'il a amélioré la solution
+    public void recordCall(long nanos, long evaluationCount, boolean improved) {
+        invocations.increment();
+        evaluations.add(evaluationCount);
+        if (improved) {
+            improvements.increment();
+        }
+        latency.record(nanos);
+    }
+
+    //critère d'acceptation LAHC, historyHit => refusé sans la liste historique (pire que la solution courante)
+    public void recordOutcome(boolean wasAccepted, boolean historyHit) {
+        if (wasAccepted) {
+            accepted.increment();
+            if (historyHit) {
+                historyHits.increment();
+            }
+        } else {
+            rejected.increment();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    public long getImprovements() {
+        return improvements.sum();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getHistoryHits() {
+        return historyHits.sum();
+    }
+
+    public long getTimeNanos() {
+        return latency.getSum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    void reset() {
+        invocations.reset();
+        evaluations.reset();
+        improvements.reset();
+        accepted.reset();
+        rejected.reset();
+        historyHits.reset();
+        latency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d calls, %d evaluations, %d improvements, %.1f ms (p50 %.1f us, p99 %.1f us)",
+                             name, getInvocations(), getEvaluations(), getImprovements(), getTimeNanos() / 1e6,
+                             latency.getPercentile(50) / 1e3, latency.getPercentile(99) / 1e3);
+    }
+}
@@ -0,0 +1,118 @@
+package algo.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Événements JFR de la recherche (catégorie "LAHC" dans JDK Mission Control), pour corréler GC / CPU
+ * et phases de la recherche sans printf :
+ *   java -XX:StartFlightRecording=filename=lahc.jfr ...
+ *
+ * Les événements fréquents ont un seuil (Threshold) : seuls les appels plus longs sont enregistrés.
+ * Les seuils se changent sans recompiler, ex. -XX:StartFlightRecording=...,settings=profile ou un .jfc
+ * avec <event name="lahc.Operator"><setting name="threshold">0 ms</setting></event>.
+ *
+ * Sans enregistrement JFR en cours, rien n'est construit (cf OPERATOR.isEnabled() dans LocalSearch).
+ */
+public final class SearchEvents {
+    //pour tester à moindre coût si un enregistrement en cours veut les événements d'opérateur
+    public static final EventType OPERATOR = EventType.getEventType(Operator.class);
+
+    private SearchEvents() {
+    }
+
+    @Name("lahc.Search")
+    @Label("LAHC Search")
+    @Category("LAHC")
+    @Description("A whole LAHCMetaheuristic.solve call")
+    @StackTrace(false)
+    public static final class Search extends Event {
+        @Label("Jobs")
+        public int jobs;
+        @Label("Machines")
+        public int machines;
+        @Label("Initial Makespan")
+        public int initialMakespan;
+        @Label("Best Makespan")
+        public int bestMakespan;
+        @Label("Iterations")
+        public long iterations;
+        @Label("Evaluations")
+        public long evaluations;
+        @Label("Stop Reason")
+        public String stopReason;
+    }
+
+    @Name("lahc.Iteration")
+    @Label("LAHC Iteration")
+    @Category("LAHC")
+    @Description("One LAHC iteration (neighbour move + local search + acceptance)")
+    @StackTrace(false)
+    @Threshold("1 ms")
+    public static final class Iteration extends Event {
+        @Label("Iteration")
+        public long iteration;
+        @Label("Operator")
+        public String operator;
+        @Label("Makespan Before")
+        @Description("Makespan of the current solution")
+        public int makespanBefore;
+        @Label("Makespan After")
+        @Description("Makespan of the neighbour after local search")
+        public int makespanAfter;
+        @Label("Accepted")
+        public boolean accepted;
+        @Label("Evaluations")
+        public long evaluations;
+    }
+
+    @Name("lahc.LocalSearch")
+    @Label("Local Search")
+    @Category("LAHC")
+    @Description("LocalSearch.improve / improveInPlace, until no operator improves")
+    @StackTrace(false)
+    @Threshold("1 ms")
+    public static final class LocalSearchPass extends Event {
+        @Label("Makespan Before")
+        public int makespanBefore;
+        @Label("Makespan After")
+        public int makespanAfter;
+        @Label("Passes")
+        @Description("Rounds of the 5 operators")
+        public int passes;
+        @Label("Evaluations")
+        public long evaluations;
+    }
+
+    @Name("lahc.Operator")
+    @Label("Local Search Operator")
+    @Category("LAHC")
+    @Description("One call of a local search operator")
+    @StackTrace(false)
+    @Threshold("100 us")
+    public static final class Operator extends Event {
+        @Label("Operator")
+        public String operator;
+        @Label("Makespan Before")
+        public int makespanBefore;
+        @Label("Makespan After")
+        public int makespanAfter;
+        @Label("Improved")
+        public boolean improved;
+        @Label("Evaluations")
+        public long evaluations;
+    }
+
+    @Name("lahc.Improvement")
+    @Label("New Best Solution")
+    @Category("LAHC")
+    @Description("The best makespan of a search improved (rare, never thresholded)")
+    @StackTrace(false)
+    public static final class Improvement extends Event {
+        @Label("Iteration")
+        public long iteration;
+        @Label("Previous Best")
+        public int previousBest;
+        @Label("New Best")
+        public int newBest;
+    }
+}
@@ -0,0 +1,180 @@
+package algo.metrics;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.*;
+import javax.management.*;
+
+/**
+ * Registre des métriques d'une ou plusieurs recherches : un OperatorMetrics par opérateur de recherche
+ * locale ("ls.*"), par opérateur de voisinage ("nb.*"), plus l'itération LAHC ("lahc.iteration") qui porte
+ * les totaux (itérations, acceptés / rejetés, hits de la liste historique, nouveaux meilleurs).
+ *
+ * Désactivé par défaut : sans registre (LAHCMetaheuristic.setMetrics jamais appelé) la recherche ne lit
+ * même pas l'horloge. Activé, c'est un nanoTime par opérateur et quelques LongAdder par itération.
+ *
+ * Thread-safe, un même registre peut être partagé par tous les runs d'un batch ou les workers de ParallelLAHC.
+ */
+public final class SearchMetrics implements SearchMetricsMXBean {
+    public static final String ITERATION = "lahc.iteration";
+    //colonnes de writeCsv
+    public static final String CSV_HEADER =
+        "operator,invocations,evaluations,improvements,accepted,rejected,history_hits,"
+      + "time_ms,mean_us,p50_us,p90_us,p99_us,max_us,evaluations_per_s";
+
+    private final Map<String, OperatorMetrics> operators = new LinkedHashMap<>(); //ordre d'enregistrement
+    private volatile long startNanos = System.nanoTime();
+    private ObjectName objectName; //non null une fois enregistré dans JMX
+
+    //compteurs d'un opérateur, créés au premier appel (à faire une fois, pas à chaque itération)
+    public synchronized OperatorMetrics operator(String name) {
+        return operators.computeIfAbsent(name, OperatorMetrics::new);
+    }
+
+    public synchronized List<OperatorMetrics> getOperators() {
+        return new ArrayList<>(operators.values());
+    }
+
+    private OperatorMetrics iteration() {
+        return operator(ITERATION);
+    }
+
+    @Override
+    public long getIterations() {
+        return iteration().getInvocations();
+    }
+
+    @Override
+    public long getAccepted() {
+        return iteration().getAccepted();
+    }
+
+    @Override
+    public long getRejected() {
+        return iteration().getRejected();
+    }
+
+    @Override
+    public long getHistoryHits() {
+        return iteration().getHistoryHits();
+    }
+
+    //pour l'itération LAHC, une "amélioration" est un nouveau meilleur
+    @Override
+    public long getNewBests() {
+        return iteration().getImprovements();
+    }
+
+    @Override
+    public long getEvaluations() {
+        return iteration().getEvaluations();
+    }
+
+    //depuis la création (ou reset) du registre, tous threads confondus
+    @Override
+    public double getEvaluationsPerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return (elapsed <= 0) ? 0 : getEvaluations() * 1e9 / elapsed;
+    }
+
+    @Override
+    public Map<String, Long> getOperatorInvocations() {
+        return perOperator(OperatorMetrics::getInvocations);
+    }
+
+    @Override
+    public Map<String, Long> getOperatorEvaluations() {
+        return perOperator(OperatorMetrics::getEvaluations);
+    }
+
+    @Override
+    public Map<String, Long> getOperatorImprovements() {
+        return perOperator(OperatorMetrics::getImprovements);
+    }
+
+    @Override
+    public Map<String, Double> getOperatorTimeMs() {
+        return perOperatorDouble(op -> op.getTimeNanos() / 1e6);
+    }
+
+    @Override
+    public Map<String, Double> getOperatorP99Micros() {
+        return perOperatorDouble(op -> op.getLatency().getPercentile(99) / 1e3);
+    }
+
+    @Override
+    public synchronized void reset() {
+        for (OperatorMetrics op : operators.values()) {
+            op.reset();
+        }
+        startNanos = System.nanoTime();
+    }
+
+    //enregistre le registre dans le serveur JMX de la plateforme sous lahc:type=SearchMetrics,name=<name>
+    public synchronized ObjectName register(String name) {
+        try {
+            ObjectName on = new ObjectName("lahc:type=SearchMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+            objectName = on;
+            return on;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics MBean " + name, e);
+        }
+    }
+
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            //déjà retiré
+        }
+        objectName = null;
+    }
+
+    //une ligne par opérateur (évaluations / s rapportées au temps passé dans l'opérateur)
+    public void writeCsv(String filename) throws IOException {
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(filename)))) {
+            out.println(CSV_HEADER);
+            for (OperatorMetrics op : getOperators()) {
+                LatencyHistogram latency = op.getLatency();
+                long time = op.getTimeNanos();
+                out.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.0f",
+                            op.getName(), op.getInvocations(), op.getEvaluations(), op.getImprovements(),
+                            op.getAccepted(), op.getRejected(), op.getHistoryHits(),
+                            time / 1e6, latency.getMean() / 1e3, latency.getPercentile(50) / 1e3,
+                            latency.getPercentile(90) / 1e3, latency.getPercentile(99) / 1e3, latency.getMax() / 1e3,
+                            (time == 0) ? 0.0 : op.getEvaluations() * 1e9 / time));
+            }
+        }
+    }
+
+    private Map<String, Long> perOperator(ToLongFunction<OperatorMetrics> f) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (OperatorMetrics op : getOperators()) {
+            map.put(op.getName(), f.applyAsLong(op));
+        }
+        return map;
+    }
+
+    private Map<String, Double> perOperatorDouble(ToDoubleFunction<OperatorMetrics> f) {
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (OperatorMetrics op : getOperators()) {
+            map.put(op.getName(), f.applyAsDouble(op));
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("SearchMetrics: %d iterations (%d accepted, %d by history, %d rejected), %.0f evaluations/s",
+                                                           getIterations(), getAccepted(), getHistoryHits(), getRejected(), getEvaluationsPerSecond()));
+        for (OperatorMetrics op : getOperators()) {
+            sb.append(System.lineSeparator()).append("  ").append(op);
+        }
+        return sb.toString();
+    }
+}
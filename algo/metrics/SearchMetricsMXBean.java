@@ -0,0 +1,36 @@
+package algo.metrics;
+
+import java.util.Map;
+
+/**
+ * Vue JMX de SearchMetrics (jconsole / VisualVM, domaine "lahc"), cf SearchMetrics.register.
+ * Les maps sont indexées par nom d'opérateur.
+ */
+public interface SearchMetricsMXBean {
+
+    long getIterations();
+
+    long getAccepted();
+
+    long getRejected();
+
+    long getHistoryHits();
+
+    long getNewBests();
+
+    long getEvaluations();
+
+    double getEvaluationsPerSecond();
+
+    Map<String, Long> getOperatorInvocations();
+
+    Map<String, Long> getOperatorEvaluations();
+
+    Map<String, Long> getOperatorImprovements();
+
+    Map<String, Double> getOperatorTimeMs();
+
+    Map<String, Double> getOperatorP99Micros();
+
+    void reset();
+}
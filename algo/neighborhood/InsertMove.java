@@ -0,0 +1,51 @@
+package algo.neighborhood;
+
+import domain.Job;
+import solution.*;
+
+//déplacement du job (fromMachine, fromPos) vers la position toPos de toMachine
+//toPos suit la sémantique de removeJobAt(fromPos) puis addJob(job, toPos)
+//mutable : un opérateur réutilise la même instance à chaque tirage (pas d'allocation par itération)
+public class InsertMove implements Move {
+    private int fromMachine;
+    private int fromPos;
+    private int toMachine;
+    private int toPos;
+    
+    public InsertMove() {
+    }
+    
+    public InsertMove(int fromMachine, int fromPos, int toMachine, int toPos) {
+        set(fromMachine, fromPos, toMachine, toPos);
+    }
+    
+    public InsertMove set(int fromMachine, int fromPos, int toMachine, int toPos) {
+        this.fromMachine = fromMachine;
+        this.fromPos = fromPos;
+        this.toMachine = toMachine;
+        this.toPos = toPos;
+        return this;
+    }
+    
+    @Override
+    public void apply(Solution solution) {
+        Job job = solution.getSchedule(fromMachine).removeJobAt(fromPos);
+        solution.getSchedule(toMachine).addJob(job, toPos);
+    }
+    
+    @Override
+    public void undo(Solution solution) {
+        Job job = solution.getSchedule(toMachine).removeJobAt(toPos);
+        solution.getSchedule(fromMachine).addJob(job, fromPos);
+    }
+    
+    @Override
+    public MoveEvaluation evaluate(Solution solution) {
+        return solution.evaluateInsert(fromMachine, fromPos, toMachine, toPos);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Insert[M%d:%d -> M%d:%d]", fromMachine, fromPos, toMachine, toPos);
+    }
+}
@@ -0,0 +1,16 @@
+package algo.neighborhood;
+
+import solution.*;
+
+//mouvement de voisinage appliqué en place sur une solution, et annulable
+//=> pas besoin de copier la solution pour tester un voisin (on applique, puis on garde ou on annule)
+public interface Move {
+    //applique le mouvement sur la solution (modifiée sur place)
+    void apply(Solution solution);
+    
+    //annule le mouvement, à appeler sur la solution où il vient d'être appliqué
+    void undo(Solution solution);
+    
+    //évalue le mouvement sans modifier la solution
+    MoveEvaluation evaluate(Solution solution);
+}
@@ -6,7 +6,17 @@ package algo.neighborhood;
 import solution.Solution;
 
 public interface NeighborhoodOperator {
-    //on applique l'opérateur pour générer une solution voisine.
-    Solution apply(Solution solution);
+    //tire un mouvement aléatoire sur la solution SANS la modifier (null si aucun mouvement possible)
+    //le mouvement retourné peut être réutilisé par l'opérateur au tirage suivant
+    Move propose(Solution solution);
+    
+    //on applique l'opérateur pour générer une solution voisine (copie, la solution d'origine n'est pas modifiée)
+    default Solution apply(Solution solution) {
+        Solution neighbor = solution.copy();
+        Move move = propose(neighbor);
+        if (move != null) {
+            move.apply(neighbor);
+        }
+        return neighbor;
+    }
 }
-
@@ -1,69 +1,61 @@
 package algo.neighborhood;
 
-import domain.Job;
 import solution.*;
 import java.util.*;
 
 //opérateur de voisinage qui échange aléatoirement deux jobs entre deux machines différentes
 public class RandomExternalSwap implements NeighborhoodOperator {
-    private final Random random;
+    private final SplittableRandom random;
+    private final SwapMove move = new SwapMove(); //réutilisé à chaque tirage
+    private int[] nonEmptyMachines = new int[0]; //buffer réutilisé
     
     // 2 constructors
     // un avec seed pour les tests
     // un sans seed pour l'utilisation normale
     public RandomExternalSwap() {
-        this.random = new Random();
+        this.random = new SplittableRandom();
     }
     
     public RandomExternalSwap(long seed) {
-        this.random = new Random(seed);
+        this.random = new SplittableRandom(seed);
     }
     
-    // apply the operator to generate a neighboring solution
+    //own stream (e.g. random.split() from the search that owns the operator)
+    public RandomExternalSwap(SplittableRandom random) {
+        this.random = random;
+    }
+    
+    // draw a random swap between two machines without modifying the solution
     @Override
-    public Solution apply(Solution solution) {
-        Solution neighbor = solution.copy();
-        
+    public Move propose(Solution solution) {
         // machines qui ont au moins 1 job => on peut échanger
-        List<Integer> nonEmptyMachines = new ArrayList<>();
-        for (int m = 0; m < neighbor.getNumberOfMachines(); m++) {
-            if (neighbor.getSchedule(m).getJobCount() > 0) {
-                nonEmptyMachines.add(m);
+        if (nonEmptyMachines.length < solution.getNumberOfMachines()) {
+            nonEmptyMachines = new int[solution.getNumberOfMachines()];
+        }
+        int nonEmptyCount = 0;
+        for (int m = 0; m < solution.getNumberOfMachines(); m++) {
+            if (solution.viewSchedule(m).getJobCount() > 0) {
+                nonEmptyMachines[nonEmptyCount++] = m;
             }
         }
         
         //or on a besoin de 2 machines non vides
-        if (nonEmptyMachines.size() < 2) {
-            return neighbor;
+        if (nonEmptyCount < 2) {
+            return null;
         }
         
         // on prend deux machines différentes de manièere random
-        int machine1Id = nonEmptyMachines.get(random.nextInt(nonEmptyMachines.size()));
+        int machine1Id = nonEmptyMachines[random.nextInt(nonEmptyCount)];
         int machine2Id;
         //structure avec le do while pour être sûr que les deux machines sont différentes src: https://stackoverflow.com/questions/196017/unique-random-numbers-in-java
         do {
-            machine2Id = nonEmptyMachines.get(random.nextInt(nonEmptyMachines.size()));
+            machine2Id = nonEmptyMachines[random.nextInt(nonEmptyCount)];
         } while (machine1Id == machine2Id);
         
-        Schedule schedule1 = neighbor.getSchedule(machine1Id);
-        Schedule schedule2 = neighbor.getSchedule(machine2Id);
-        
         //choix du job aléatoire de chaque machine
-        int pos1 = random.nextInt(schedule1.getJobCount());
-        int pos2 = random.nextInt(schedule2.getJobCount());
-        
-        Job job1 = schedule1.getJobSequence().get(pos1);
-        Job job2 = schedule2.getJobSequence().get(pos2);
-        
-        //swap
-        schedule1.removeJobAt(pos1);
-        schedule2.removeJobAt(pos2);
-        
-        schedule1.addJob(job2, pos1);
-        schedule2.addJob(job1, pos2);
-        
-        neighbor.invalidate();
+        int pos1 = random.nextInt(solution.viewSchedule(machine1Id).getJobCount());
+        int pos2 = random.nextInt(solution.viewSchedule(machine2Id).getJobCount());
         
-        return neighbor;
+        return move.set(machine1Id, pos1, machine2Id, pos2);
     }
-}
\ No newline at end of file
+}
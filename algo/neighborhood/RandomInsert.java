@@ -0,0 +1,68 @@
+package algo.neighborhood;
+
+import java.util.*;
+import solution.*;
+
+//opérateur de voisinage qui déplace aléatoirement un job vers une autre position, sur sa machine ou sur une autre
+//(y compris une machine vide => peut changer le nombre de jobs par machine, contrairement aux swaps)
+public class RandomInsert implements NeighborhoodOperator {
+    private final SplittableRandom random;
+    private final InsertMove move = new InsertMove(); //réutilisé à chaque tirage
+    private int[] nonEmptyMachines = new int[0]; //buffer réutilisé
+    
+    public RandomInsert() {
+        this.random = new SplittableRandom();
+    }
+    
+    public RandomInsert(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+    
+    //own stream (e.g. random.split() from the search that owns the operator)
+    public RandomInsert(SplittableRandom random) {
+        this.random = random;
+    }
+    
+    // draw a random insertion without modifying the solution
+    @Override
+    public Move propose(Solution solution) {
+        int machineCount = solution.getNumberOfMachines();
+        if (nonEmptyMachines.length < machineCount) {
+            nonEmptyMachines = new int[machineCount];
+        }
+        int nonEmptyCount = 0;
+        for (int m = 0; m < machineCount; m++) {
+            if (solution.viewSchedule(m).getJobCount() > 0) {
+                nonEmptyMachines[nonEmptyCount++] = m;
+            }
+        }
+        if (nonEmptyCount == 0) {
+            return null;
+        }
+        
+        //job à déplacer
+        int fromMachine = nonEmptyMachines[random.nextInt(nonEmptyCount)];
+        int fromCount = solution.viewSchedule(fromMachine).getJobCount();
+        int fromPos = random.nextInt(fromCount);
+        
+        //machine d'arrivée : la même n'a de sens qu'avec au moins 2 jobs
+        if (machineCount == 1 && fromCount < 2) {
+            return null;
+        }
+        int toMachine;
+        do {
+            toMachine = random.nextInt(machineCount);
+        } while (toMachine == fromMachine && fromCount < 2);
+        
+        //position dans la séquence d'arrivée sans le job (cf InsertMove), différente de fromPos sur la même machine
+        if (toMachine == fromMachine) {
+            int toPos;
+            do {
+                toPos = random.nextInt(fromCount);
+            } while (toPos == fromPos);
+            return move.set(fromMachine, fromPos, toMachine, toPos);
+        }
+        int toPos = random.nextInt(solution.viewSchedule(toMachine).getJobCount() + 1);
+        return move.set(fromMachine, fromPos, toMachine, toPos);
+    }
+}
@@ -5,40 +5,48 @@ import solution.*;
 
 public class RandomInternalSwap implements NeighborhoodOperator { //échange aléatoire de deux jobs sur une même machine
     //implements bc it's a neighborhood operator
-    private final Random random; //final bc we don't want to change it after initialization https://stackoverflow.com/questions/12301712/why-declare-random-as-final-in-java
+    private final SplittableRandom random; //final bc we don't want to change it after initialization https://stackoverflow.com/questions/12301712/why-declare-random-as-final-in-java
+    private final SwapMove move = new SwapMove(); //réutilisé à chaque tirage
+    private int[] candidateMachines = new int[0]; //buffer réutilisé (ids des machines avec au moins 2 jobs)
     
     //constructors
     public RandomInternalSwap() {
-        this.random = new Random();
+        this.random = new SplittableRandom();
     }
     
     public RandomInternalSwap(long seed) {
-        this.random = new Random(seed);
+        this.random = new SplittableRandom(seed);
     }
     
-    // apply the operator to generate a neighboring solution
+    //own stream (e.g. random.split() from the search that owns the operator)
+    public RandomInternalSwap(SplittableRandom random) {
+        this.random = random;
+    }
+    
+    // draw a random swap on the solution without modifying it
     @Override
-    public Solution apply(Solution solution) {
-        Solution neighbor = solution.copy();
-        
+    public Move propose(Solution solution) {
         //we choose a random machine with at least 2 jobs
-        List<Integer> candidateMachines = new ArrayList<>(); //list of machine ids with at least 2 jobs
-        for (int m = 0; m < neighbor.getNumberOfMachines(); m++) 
+        if (candidateMachines.length < solution.getNumberOfMachines()) {
+            candidateMachines = new int[solution.getNumberOfMachines()];
+        }
+        int candidateCount = 0;
+        for (int m = 0; m < solution.getNumberOfMachines(); m++) 
         {
-            if (neighbor.getSchedule(m).getJobCount() >= 2)  //2 jobs 
+            if (solution.viewSchedule(m).getJobCount() >= 2)  //2 jobs 
             {
-                candidateMachines.add(m);
+                candidateMachines[candidateCount++] = m;
             }
         }
-        // if no machine has at least 2 jobs, return the same solution
-        if (candidateMachines.isEmpty()) 
+        // if no machine has at least 2 jobs, no move
+        if (candidateCount == 0) 
         {
-            return neighbor;
+            return null;
         }
         
         // we choose a random machine among the candidates
-        int machineId = candidateMachines.get(random.nextInt(candidateMachines.size())); //random machine id from the candidates
-        Schedule schedule = neighbor.getSchedule(machineId);
+        int machineId = candidateMachines[random.nextInt(candidateCount)]; //random machine id from the candidates
+        Schedule schedule = solution.viewSchedule(machineId);
         
         // we choose two different random positions
         int jobCount = schedule.getJobCount();
@@ -50,10 +58,6 @@ public class RandomInternalSwap implements NeighborhoodOperator { //échange al
             pos2 = random.nextInt(jobCount);
         }
 
-        // we perform the swap
-        schedule.swapJobs(pos1, pos2);
-        neighbor.invalidate();
-        
-        return neighbor;
+        return move.set(machineId, pos1, machineId, pos2);
     }
 }
@@ -0,0 +1,58 @@
+package algo.neighborhood;
+
+import domain.Job;
+import solution.*;
+
+//échange du job (machine1, pos1) avec le job (machine2, pos2), sur une même machine ou entre deux machines
+//mutable : un opérateur réutilise la même instance à chaque tirage (pas d'allocation par itération)
+public class SwapMove implements Move {
+    private int machine1;
+    private int pos1;
+    private int machine2;
+    private int pos2;
+    
+    public SwapMove() {
+    }
+    
+    public SwapMove(int machine1, int pos1, int machine2, int pos2) {
+        set(machine1, pos1, machine2, pos2);
+    }
+    
+    public SwapMove set(int machine1, int pos1, int machine2, int pos2) {
+        this.machine1 = machine1;
+        this.pos1 = pos1;
+        this.machine2 = machine2;
+        this.pos2 = pos2;
+        return this;
+    }
+    
+    @Override
+    public void apply(Solution solution) {
+        if (machine1 == machine2) {
+            solution.getSchedule(machine1).swapJobs(pos1, pos2);
+            return;
+        }
+        Schedule schedule1 = solution.getSchedule(machine1);
+        Schedule schedule2 = solution.getSchedule(machine2);
+        Job job1 = schedule1.getJobAt(pos1);
+        Job job2 = schedule2.getJobAt(pos2);
+        schedule1.replaceJobAt(pos1, job2);
+        schedule2.replaceJobAt(pos2, job1);
+    }
+    
+    //un swap est sa propre inverse
+    @Override
+    public void undo(Solution solution) {
+        apply(solution);
+    }
+    
+    @Override
+    public MoveEvaluation evaluate(Solution solution) {
+        return solution.evaluateSwap(machine1, pos1, machine2, pos2);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Swap[M%d:%d <-> M%d:%d]", machine1, pos1, machine2, pos2);
+    }
+}
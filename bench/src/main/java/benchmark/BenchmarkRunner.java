@@ -0,0 +1,21 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Point d'entrée de benchmarks.jar : mêmes options que la ligne de commande JMH,
+ * avec le profiler gc (allocations par opération) toujours activé.
+ * 
+ * java -jar target/benchmarks.jar [regexp] [-p n=500] [-rf csv -rff results.csv]
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,21 @@
+package benchmark;
+
+import algo.heuristic.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import solution.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeuristicBenchmark {
+    private final BIBAHeuristic biba = new BIBAHeuristic();
+    
+    @Benchmark
+    public Solution biba(InstanceState state) {
+        return biba.buildInitialSolution(state.instance);
+    }
+}
@@ -0,0 +1,43 @@
+package benchmark;
+
+import algo.heuristic.*;
+import domain.*;
+import org.openjdk.jmh.annotations.*;
+import solution.*;
+import utils.*;
+
+/**
+ * Fixture commune : instance aléatoire à graine fixe (même instance à chaque run) de taille (n, m),
+ * et sa solution BIBA.
+ */
+@State(Scope.Benchmark)
+public class InstanceState {
+    public static final long SEED = 42;
+    
+    @Param({"50", "200"})
+    public int n;
+    
+    @Param({"5", "10"})
+    public int m;
+    
+    public Instance instance;
+    public Solution initial;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        //mêmes paramètres que Main / BenchmarkTest
+        instance = InstanceReader.createRandomInstance(n, m, 100, 20, 0.5, SEED);
+        initial = new BIBAHeuristic().buildInitialSolution(instance);
+    }
+    
+    //machine avec le plus de jobs (le pire cas pour calculateSchedule)
+    public int longestMachine() {
+        int longest = 0;
+        for (int k = 1; k < m; k++) {
+            if (initial.viewSchedule(k).getJobCount() > initial.viewSchedule(longest).getJobCount()) {
+                longest = k;
+            }
+        }
+        return longest;
+    }
+}
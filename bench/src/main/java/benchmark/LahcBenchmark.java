@@ -0,0 +1,32 @@
+package benchmark;
+
+import algo.heuristic.*;
+import algo.metaheuristic.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Une itération LAHC (voisin + recherche locale + acceptation), la recherche continuant d'une
+ * invocation à l'autre comme dans solve. Graine fixe => même trajectoire à chaque run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LahcBenchmark {
+    private LAHCMetaheuristic lahc;
+    
+    @Setup(Level.Trial)
+    public void setUp(InstanceState state) {
+        lahc = new LAHCMetaheuristic(new BIBAHeuristic(), 30, InstanceState.SEED);
+        lahc.initialize(state.instance);
+    }
+    
+    @Benchmark
+    public int iteration() {
+        lahc.iterate();
+        return lahc.getCurrentSolution().getMakespan();
+    }
+}
@@ -0,0 +1,59 @@
+package benchmark;
+
+import algo.localsearch.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import solution.*;
+
+/**
+ * Chaque opérateur sur une copie de la solution BIBA (la copie est O(m), négligeable devant l'opérateur).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LocalSearchBenchmark {
+    private LocalSearch localSearch;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        localSearch = new LocalSearch();
+    }
+    
+    @Benchmark
+    public int bottleneckInternalSwap(InstanceState state) {
+        Solution solution = state.initial.copy();
+        localSearch.bottleneckInternalSwap(solution);
+        return solution.getMakespan();
+    }
+    
+    @Benchmark
+    public int bottleneckExternalInsertion(InstanceState state) {
+        Solution solution = state.initial.copy();
+        localSearch.bottleneckExternalInsertion(solution);
+        return solution.getMakespan();
+    }
+    
+    @Benchmark
+    public int bottleneckExternalSwap(InstanceState state) {
+        Solution solution = state.initial.copy();
+        localSearch.bottleneckExternalSwap(solution);
+        return solution.getMakespan();
+    }
+    
+    @Benchmark
+    public int balancing(InstanceState state) {
+        Solution solution = state.initial.copy();
+        localSearch.balancing(solution);
+        return solution.getMakespan();
+    }
+    
+    @Benchmark
+    public int interMachineInsertion(InstanceState state) {
+        Solution solution = state.initial.copy();
+        localSearch.interMachineInsertion(solution);
+        return solution.getMakespan();
+    }
+}
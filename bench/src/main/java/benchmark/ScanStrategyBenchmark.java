@@ -0,0 +1,55 @@
+package benchmark;
+
+import algo.localsearch.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import solution.*;
+
+/**
+ * Recherche locale complète (jusqu'à l'optimum local) sur une copie de la solution BIBA, pour chaque
+ * parcours du voisinage (ScanStrategy, les 5 opérateurs).
+ * Débit : ops/s = recherches locales par seconde. Qualité : compteurs gain (makespan BIBA - makespan final)
+ * et evaluations, ramenés par JMH à la seconde ; gain / ops = gain moyen d'une recherche locale.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScanStrategyBenchmark {
+    @Param({"BEST", "FIRST", "SAMPLE_32"})
+    public String strategy;
+
+    private LocalSearch localSearch;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long gain;
+        public long evaluations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            gain = 0;
+            evaluations = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        //graine fixe => mêmes tirages (FIRST, échantillons) à chaque run
+        localSearch = new LocalSearch(InstanceState.SEED);
+        localSearch.setScanStrategy(ScanStrategy.parse(strategy));
+    }
+
+    @Benchmark
+    public int localSearch(InstanceState state, Counters counters) {
+        Solution solution = state.initial.copy();
+        long evaluationsBefore = localSearch.getEvaluationCount(); //compteur cumulé
+        localSearch.improveInPlace(solution);
+        counters.gain += state.initial.getMakespan() - solution.getMakespan();
+        counters.evaluations += localSearch.getEvaluationCount() - evaluationsBefore;
+        return solution.getMakespan();
+    }
+}
@@ -0,0 +1,27 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import solution.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScheduleBenchmark {
+    private Schedule schedule;
+    
+    @Setup(Level.Trial)
+    public void setUp(InstanceState state) {
+        schedule = state.initial.viewSchedule(state.longestMachine()).copy();
+    }
+    
+    //recalcul complet des dates de la machine la plus chargée
+    @Benchmark
+    public int calculateSchedule() {
+        schedule.calculateSchedule();
+        return schedule.getCompletionTime();
+    }
+}
@@ -0,0 +1,25 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import solution.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolutionBenchmark {
+    
+    //copie seule (copy-on-write : O(m))
+    @Benchmark
+    public Solution copy(InstanceState state) {
+        return state.initial.copy();
+    }
+    
+    //copie puis écriture sur une machine : coût réel d'un voisin qui ne touche qu'une machine
+    @Benchmark
+    public Schedule copyAndWriteOneMachine(InstanceState state) {
+        return state.initial.copy().getSchedule(0);
+    }
+}
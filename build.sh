@@ -23,7 +23,7 @@ javac \
   --module-path "$JAVAFX_LIB" \
   --add-modules javafx.controls,javafx.fxml \
   -d "$BIN_DIR" \
-  $(find . -name "*.java")
+  $(find . -path ./bench -prune -o -name "*.java" -print)
 
 if [ $? -ne 0 ]; then
     echo "❌ Compilation failed"
@@ -0,0 +1,191 @@
+package domain;
+
+import java.io.IOException;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Matrice des setups hors heap : un ByteBuffer par machine (n² cellules), little-endian.
+ * 
+ * Les cellules démarrent sur 8 bits (non signés) et sont élargies à 16 puis 32 bits
+ * dès qu'une valeur écrite ne tient plus => la largeur suit automatiquement la plage des valeurs,
+ * même quand on ne la connaît pas à l'avance (lecture d'un fichier texte par ex).
+ * Un bloc par machine évite aussi la limite de 2 Go d'un ByteBuffer.
+ */
+public class CompactSetupMatrix extends SetupMatrix {
+    private static final int MAX_U8 = 0xFF;
+    private static final int MAX_U16 = 0xFFFF;
+    
+    private final Backend backend;
+    private final Path directory; //dossier des fichiers mappés (null en OFF_HEAP et pour wrap)
+    private ByteBuffer[] blocks;
+    private Path file; //fichier temporaire mappé courant, à supprimer en cas d'élargissement (null sinon)
+    private int cellBytes;
+    private boolean readOnly; //blocs de wrap en lecture seule (fichier mappé READ_ONLY) : copiés à la première écriture
+    
+    private CompactSetupMatrix(int numJobs, int numMachines, Backend backend, Path directory) {
+        super(numJobs, numMachines);
+        this.backend = backend;
+        this.directory = directory;
+    }
+    
+    //blocs alloués par ByteBuffer.allocateDirect
+    public static CompactSetupMatrix offHeap(int numJobs, int numMachines) {
+        CompactSetupMatrix matrix = new CompactSetupMatrix(numJobs, numMachines, Backend.OFF_HEAP, null);
+        try {
+            matrix.allocate(1);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); //impossible sans fichier
+        }
+        return matrix;
+    }
+    
+    //blocs mappés sur un fichier temporaire créé dans directory (supprimé à la fin de la JVM)
+    public static CompactSetupMatrix mapped(int numJobs, int numMachines, Path directory) throws IOException {
+        CompactSetupMatrix matrix = new CompactSetupMatrix(numJobs, numMachines, Backend.MAPPED, directory);
+        matrix.allocate(1);
+        return matrix;
+    }
+    
+    //vue sur des blocs existants, rien n'est copié (ex : bloc des setups d'un fichier binaire mappé,
+    //cf BinaryInstanceReader) : un bloc par machine, n² cellules de cellBytes octets, little-endian
+    //(non signés sur 1 et 2 octets). Si une écriture demande des cellules plus larges, ou si les blocs sont
+    //en lecture seule, ils sont d'abord recopiés hors heap
+    public static CompactSetupMatrix wrap(int numJobs, int numMachines, int cellBytes, ByteBuffer[] blocks) {
+        if (cellBytes != 1 && cellBytes != 2 && cellBytes != 4) {
+            throw new IllegalArgumentException("Invalid cell width: " + cellBytes);
+        }
+        if (blocks.length != numMachines) {
+            throw new IllegalArgumentException("Expected " + numMachines + " setup blocks, got " + blocks.length);
+        }
+        long blockBytes = (long) numJobs * numJobs * cellBytes;
+        CompactSetupMatrix matrix = new CompactSetupMatrix(numJobs, numMachines, Backend.MAPPED, null);
+        matrix.blocks = new ByteBuffer[numMachines];
+        for (int k = 0; k < numMachines; k++) {
+            if (blocks[k].capacity() < blockBytes) {
+                throw new IllegalArgumentException("Setup block " + k + " too small: " + blocks[k].capacity() + " < " + blockBytes + " bytes");
+            }
+            matrix.blocks[k] = blocks[k].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        }
+        matrix.cellBytes = cellBytes;
+        matrix.readOnly = blocks.length > 0 && blocks[0].isReadOnly();
+        return matrix;
+    }
+    
+    @Override
+    public int get(int prev, int next, int machine) {
+        int cell = prev * numJobs + next;
+        ByteBuffer block = blocks[machine];
+        switch (cellBytes) {
+            case 1:
+                return block.get(cell) & MAX_U8;
+            case 2:
+                return block.getShort(cell << 1) & MAX_U16;
+            default:
+                return block.getInt(cell << 2);
+        }
+    }
+    
+    @Override
+    public void set(int prev, int next, int machine, int time) {
+        int needed = widthFor(time);
+        if (needed > cellBytes || readOnly) {
+            widen(Math.max(needed, cellBytes)); //même largeur si lecture seule : simple copie
+        }
+        int cell = prev * numJobs + next;
+        ByteBuffer block = blocks[machine];
+        switch (cellBytes) {
+            case 1:
+                block.put(cell, (byte) time);
+                break;
+            case 2:
+                block.putShort(cell << 1, (short) time);
+                break;
+            default:
+                block.putInt(cell << 2, time);
+        }
+    }
+    
+    @Override
+    public int getCellBytes() {
+        return cellBytes;
+    }
+    
+    @Override
+    public Backend getBackend() {
+        return backend;
+    }
+    
+    private static int widthFor(int time) {
+        if (time >= 0 && time <= MAX_U8) return 1;
+        if (time >= 0 && time <= MAX_U16) return 2;
+        return 4;
+    }
+    
+    //ré-encode toutes les cellules sur une largeur plus grande
+    private void widen(int newCellBytes) {
+        ByteBuffer[] oldBlocks = blocks;
+        int oldCellBytes = cellBytes;
+        Path oldFile = file;
+        try {
+            allocate(newCellBytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot widen memory-mapped setup matrix", e);
+        }
+        int cells = numJobs * numJobs;
+        for (int k = 0; k < numMachines; k++) {
+            ByteBuffer from = oldBlocks[k];
+            ByteBuffer to = blocks[k];
+            for (int c = 0; c < cells; c++) {
+                int value;
+                switch (oldCellBytes) {
+                    case 1: value = from.get(c) & MAX_U8; break;
+                    case 2: value = from.getShort(c << 1) & MAX_U16; break;
+                    default: value = from.getInt(c << 2);
+                }
+                switch (newCellBytes) {
+                    case 1: to.put(c, (byte) value); break;
+                    case 2: to.putShort(c << 1, (short) value); break;
+                    default: to.putInt(c << 2, value);
+                }
+            }
+        }
+        if (oldFile != null) {
+            try {
+                Files.deleteIfExists(oldFile); //le mapping reste valide jusqu'à sa libération par le GC
+            } catch (IOException ignored) {
+                //deleteOnExit s'en chargera
+            }
+        }
+    }
+    
+    //alloue des blocs vides (à 0) de la largeur demandée
+    private void allocate(int newCellBytes) throws IOException {
+        long blockBytes = (long) numJobs * numJobs * newCellBytes;
+        if (blockBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Setup block too large for one machine: " + blockBytes + " bytes");
+        }
+        ByteBuffer[] newBlocks = new ByteBuffer[numMachines];
+        if (directory == null) { //OFF_HEAP, ou blocs de wrap élargis
+            for (int k = 0; k < numMachines; k++) {
+                newBlocks[k] = ByteBuffer.allocateDirect((int) blockBytes).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            file = null;
+        } else {
+            Path newFile = Files.createTempFile(directory, "setup-", ".bin");
+            newFile.toFile().deleteOnExit();
+            //le mapping survit à la fermeture du channel
+            try (FileChannel channel = FileChannel.open(newFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                for (int k = 0; k < numMachines; k++) {
+                    newBlocks[k] = channel.map(FileChannel.MapMode.READ_WRITE, k * blockBytes, blockBytes)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+            file = newFile;
+        }
+        blocks = newBlocks;
+        cellBytes = newCellBytes;
+        readOnly = false;
+    }
+}
@@ -0,0 +1,36 @@
+package domain;
+
+//matrice des setups dans un seul int[] plat sur le heap, [machine][prev][next]
+public class HeapSetupMatrix extends SetupMatrix {
+    private final int[] cells;
+    
+    public HeapSetupMatrix(int numJobs, int numMachines) {
+        super(numJobs, numMachines);
+        long setupCells = (long) numJobs * numJobs * numMachines;
+        if (setupCells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Setup matrix too large for an int[]: " + setupCells
+                                               + " cells (use an OFF_HEAP or MAPPED backend)");
+        }
+        this.cells = new int[(int) setupCells];
+    }
+    
+    @Override
+    public int get(int prev, int next, int machine) {
+        return cells[(machine * numJobs + prev) * numJobs + next];
+    }
+    
+    @Override
+    public void set(int prev, int next, int machine, int time) {
+        cells[(machine * numJobs + prev) * numJobs + next] = time;
+    }
+    
+    @Override
+    public int getCellBytes() {
+        return Integer.BYTES;
+    }
+    
+    @Override
+    public Backend getBackend() {
+        return Backend.HEAP;
+    }
+}
@@ -11,17 +11,28 @@ public class Instance {
     private final Job[] jobs;
     private final Machine[] machines;
     
-    // processingTimes[j][k] = temps de traitement du job j sur la machine k (les p_jk)
-    private final int[][] processingTimes;
+    // processingTimes[k * n + j] = temps de traitement du job j sur la machine k (les p_jk)
+    private final int[] processingTimes;
     
-    // setupTimes[i][j][k] = temps de setup entre job i et job j sur machine k (les s_ij^k)
-    private final int[][][] setupTimes;
+    // temps de setup entre job i et job j sur machine k (les s_ij^k), rangés machine par machine
+    // heap (int[] plat) par défaut, ou hors heap / mappé pour les grosses instances (cf SetupMatrix)
+    private final SetupMatrix setupTimes;
+    
+    // releaseDates[j] = r_j (copie primitive pour les accès par indice)
+    private final int[] releaseDates;
     
     private final int numJobs;
     private final int numMachines;
     
     //constructor
     public Instance(int numJobs, int numMachines) {
+        this(new HeapSetupMatrix(numJobs, numMachines));
+    }
+    
+    //constructor with a pre-allocated setup matrix (any backend), dimensions are taken from it
+    public Instance(SetupMatrix setupTimes) {
+        int numJobs = setupTimes.getNumberOfJobs();
+        int numMachines = setupTimes.getNumberOfMachines();
         this.numJobs = numJobs;
         this.numMachines = numMachines;
         
@@ -37,14 +48,20 @@ public class Instance {
             this.machines[i] = new Machine(i);
         }
         
-        //init matrice temps 
-        this.processingTimes = new int[numJobs][numMachines];
-        this.setupTimes = new int[numJobs][numJobs][numMachines];
+        //init matrice temps (les p_jk restent sur le heap : n*m cellules seulement)
+        this.processingTimes = new int[numMachines * numJobs];
+        this.setupTimes = setupTimes;
+        this.releaseDates = new int[numJobs];
     }
     
     //constructor with release dates array and checks it matches numJobs
     public Instance(int numJobs, int numMachines, int[] releaseDates) {
-        this(numJobs, numMachines);
+        this(new HeapSetupMatrix(numJobs, numMachines), releaseDates);
+    }
+    
+    //same with a pre-allocated setup matrix
+    public Instance(SetupMatrix setupTimes, int[] releaseDates) {
+        this(setupTimes);
         
         if (releaseDates.length != numJobs) {
             throw new IllegalArgumentException("Release dates array must match number of jobs");
@@ -53,6 +70,7 @@ public class Instance {
         //recréer les jobs avec les bonnes release dates
         for (int i = 0; i < numJobs; i++) {
             this.jobs[i] = new Job(i, releaseDates[i]);
+            this.releaseDates[i] = releaseDates[i];
         }
     }
     
@@ -75,27 +93,43 @@ public class Instance {
     
     //gets time of processinfg and setup
     public int getProcessingTime(Job job, Machine machine) {
-        return processingTimes[job.getId()][machine.getId()];
+        return processingTime(job.getId(), machine.getId());
     }
     
     //if prevJob is null, we consider the initial setup (diagonal)
     public int getSetupTime(Job prevJob, Job nextJob, Machine machine) {
         // Si prevJob est null, on considère le setup initial (diagonal)
         int i = (prevJob == null) ? nextJob.getId() : prevJob.getId(); //thanks copilot for the shorter one liner vrsion :)
-        int j = nextJob.getId();
-        int k = machine.getId();
-        return setupTimes[i][j][k];
+        return setupTime(i, nextJob.getId(), machine.getId());
+    }
+    
+    //accès par indices pour les boucles chaudes (pas d'objets Job/Machine)
+    //pour le setup initial, passer prev == next (diagonale)
+    public int setupTime(int prev, int next, int machine) {
+        return setupTimes.get(prev, next, machine);
+    }
+    
+    public int processingTime(int job, int machine) {
+        return processingTimes[machine * numJobs + job];
+    }
+    
+    public int releaseDate(int job) {
+        return releaseDates[job];
     }
     
     //setters
     // we suppose jobId and machineId are valid
     public void setProcessingTime(int jobId, int machineId, int time) {
-        processingTimes[jobId][machineId] = time;
+        processingTimes[machineId * numJobs + jobId] = time;
     }
 
     // we suppose prevJobId, nextJobId and machineId are valid
     public void setSetupTime(int prevJobId, int nextJobId, int machineId, int time) {
-        setupTimes[prevJobId][nextJobId][machineId] = time;
+        setupTimes.set(prevJobId, nextJobId, machineId, time);
+    }
+    
+    public SetupMatrix getSetupMatrix() {
+        return setupTimes;
     }
     
     //toString 4 beautiful printing
@@ -0,0 +1,69 @@
+package domain;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+/**
+ * Stockage de la matrice des temps de setup s_ij^k, rangée machine par machine : [machine][prev][next].
+ * 
+ * Trois backends :
+ * - HEAP     : un int[] plat sur le heap (par défaut, le plus rapide tant que n²·m tient en mémoire)
+ * - OFF_HEAP : des ByteBuffer directs, hors heap (pas de pression sur le GC)
+ * - MAPPED   : des fichiers temporaires mappés en mémoire (l'OS pagine, le heap n'est pas touché)
+ * Les deux derniers compressent les cellules sur 8, 16 ou 32 bits selon les valeurs écrites.
+ */
+public abstract class SetupMatrix {
+    
+    public enum Backend { HEAP, OFF_HEAP, MAPPED }
+    
+    protected final int numJobs;
+    protected final int numMachines;
+    
+    protected SetupMatrix(int numJobs, int numMachines) {
+        this.numJobs = numJobs;
+        this.numMachines = numMachines;
+    }
+    
+    //pour le setup initial, passer prev == next (diagonale)
+    public abstract int get(int prev, int next, int machine);
+    
+    // we suppose prev, next and machine are valid
+    public abstract void set(int prev, int next, int machine, int time);
+    
+    //taille d'une cellule en octets (4 pour le heap, 1/2/4 pour les backends compressés)
+    public abstract int getCellBytes();
+    
+    public abstract Backend getBackend();
+    
+    public int getNumberOfJobs() {
+        return numJobs;
+    }
+    
+    public int getNumberOfMachines() {
+        return numMachines;
+    }
+    
+    //crée une matrice vide (toutes les cellules à 0) avec le backend demandé
+    //MAPPED utilise des fichiers temporaires dans java.io.tmpdir
+    public static SetupMatrix create(Backend backend, int numJobs, int numMachines) {
+        switch (backend) {
+            case OFF_HEAP:
+                return CompactSetupMatrix.offHeap(numJobs, numMachines);
+            case MAPPED:
+                try {
+                    return CompactSetupMatrix.mapped(numJobs, numMachines, Paths.get(System.getProperty("java.io.tmpdir")));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot create memory-mapped setup matrix", e);
+                }
+            case HEAP:
+            default:
+                return new HeapSetupMatrix(numJobs, numMachines);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SetupMatrix[%s, %d jobs, %d machines, %d bytes/cell]",
+                             getBackend(), numJobs, numMachines, getCellBytes());
+    }
+}
@@ -2,7 +2,7 @@
 rm -rf bin
 
 #exec
-javac -d bin $(find . -name "*.java")
+javac -d bin $(find . -path ./bench -prune -o -name "*.java" -print)
 
 #run
 java -cp bin Main
\ No newline at end of file
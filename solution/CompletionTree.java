@@ -0,0 +1,92 @@
+package solution;
+
+import java.util.*;
+
+//arbre de max (segment tree) sur les completion times des machines
+//update en O(log m), makespan en O(1), max hors une ou deux machines en O(log m)
+class CompletionTree {
+    private final int numMachines;
+    private final int leaves; //puissance de 2 >= numMachines
+    private final int[] tree; //tree[1] = racine, feuilles en [leaves, leaves + numMachines)
+    
+    CompletionTree(int numMachines) {
+        this.numMachines = numMachines;
+        int size = 1;
+        while (size < numMachines) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[2 * size];
+    }
+    
+    CompletionTree(CompletionTree other) {
+        this.numMachines = other.numMachines;
+        this.leaves = other.leaves;
+        this.tree = other.tree.clone();
+    }
+    
+    void set(int machineId, int completionTime) {
+        int node = leaves + machineId;
+        if (tree[node] == completionTime) {
+            return;
+        }
+        tree[node] = completionTime;
+        for (node >>= 1; node >= 1; node >>= 1) {
+            int max = Math.max(tree[2 * node], tree[2 * node + 1]);
+            if (tree[node] == max) {
+                break; //les ancêtres ne changent plus
+            }
+            tree[node] = max;
+        }
+    }
+    
+    int get(int machineId) {
+        return tree[leaves + machineId];
+    }
+    
+    int max() {
+        return tree[1];
+    }
+    
+    //max sur toutes les machines sauf excluded1 et excluded2 (peuvent être égales)
+    int maxExcluding(int excluded1, int excluded2) {
+        int lo = Math.min(excluded1, excluded2);
+        int hi = Math.max(excluded1, excluded2);
+        int max = Math.max(rangeMax(0, lo), rangeMax(hi + 1, numMachines));
+        if (hi > lo + 1) {
+            max = Math.max(max, rangeMax(lo + 1, hi));
+        }
+        return max;
+    }
+    
+    //max sur les machines [from, to)
+    private int rangeMax(int from, int to) {
+        int max = 0;
+        for (int l = from + leaves, r = to + leaves; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) max = Math.max(max, tree[l++]);
+            if ((r & 1) == 1) max = Math.max(max, tree[--r]);
+        }
+        return max;
+    }
+    
+    //ajoute (dans l'ordre des ids) les machines dont le completion time vaut le max
+    void collectMax(List<Integer> out) {
+        if (numMachines > 0) {
+            collect(1, tree[1], out);
+        }
+    }
+    
+    private void collect(int node, int max, List<Integer> out) {
+        if (tree[node] != max) {
+            return;
+        }
+        if (node >= leaves) {
+            if (node - leaves < numMachines) {
+                out.add(node - leaves);
+            }
+            return;
+        }
+        collect(2 * node, max, out);
+        collect(2 * node + 1, max, out);
+    }
+}
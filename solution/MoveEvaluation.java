@@ -0,0 +1,19 @@
+package solution;
+
+//résultat de l'évaluation d'un mouvement sans l'appliquer : completion times des (au plus) deux machines
+//touchées + makespan résultant. Pour un mouvement interne, machine1 == machine2.
+public class MoveEvaluation {
+    public final int machine1;
+    public final int completion1;
+    public final int machine2;
+    public final int completion2;
+    public final int makespan;
+    
+    public MoveEvaluation(int machine1, int completion1, int machine2, int completion2, int makespan) {
+        this.machine1 = machine1;
+        this.completion1 = completion1;
+        this.machine2 = machine2;
+        this.completion2 = completion2;
+        this.makespan = makespan;
+    }
+}
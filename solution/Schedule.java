@@ -4,153 +4,384 @@ import domain.*;
 import java.util.*;
 
 //ordonnancement détaillé d'une machine.
+//stockage par position dans des tableaux d'int (pas de Map<Job,Integer> => pas de boxing ni de hash)
 public class Schedule {
     private final Machine machine;
-    private final List<Job> jobSequence;
     private final Instance instance;
-    
+
+    //seq[i] = id du job en position i, start[i]/end[i] = début du traitement / fin du job en position i
+    private int[] seq;
+    private int[] start;
+    private int[] end;
+    private int size;
+
+    //positionOf[jobId] = position du job dans la séquence, -1 s'il n'est pas sur cette machine
+    private final int[] positionOf;
+
     private int completionTime;
-    private final Map<Job, Integer> startTimes;
-    private final Map<Job, Integer> endTimes;
-    
+
+    private static final int INITIAL_CAPACITY = 10;
+
     //empty schedule constructor
     public Schedule(Machine machine, Instance instance) {
         this.machine = machine;
         this.instance = instance;
-        this.jobSequence = new ArrayList<>();
-        this.startTimes = new HashMap<>();
-        this.endTimes = new HashMap<>();
+        this.seq = new int[INITIAL_CAPACITY];
+        this.start = new int[INITIAL_CAPACITY];
+        this.end = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        this.positionOf = new int[instance.getNumberOfJobs()];
+        Arrays.fill(positionOf, -1);
         this.completionTime = 0;
     }
-    
+
+    //copy constructor (tableaux recopiés tels quels, pas de recalcul)
+    private Schedule(Schedule other) {
+        this.machine = other.machine;
+        this.instance = other.instance;
+        int capacity = Math.max(other.size, INITIAL_CAPACITY);
+        this.seq = Arrays.copyOf(other.seq, capacity);
+        this.start = Arrays.copyOf(other.start, capacity);
+        this.end = Arrays.copyOf(other.end, capacity);
+        this.size = other.size;
+        this.positionOf = other.positionOf.clone();
+        this.completionTime = other.completionTime;
+    }
+
     //adds a job at the end of the sequence
     public void addJob(Job job) {
-        jobSequence.add(job);
-        calculateSchedule();
+        addJob(job, size);
     }
-    
+
     //inserts a job at a specific position
     public void addJob(Job job, int position) {
-        if (position < 0 || position > jobSequence.size()) {
+        if (position < 0 || position > size) {
             throw new IndexOutOfBoundsException("Invalid position: " + position); //position can be size (add at end
         }
-        jobSequence.add(position, job);
-        calculateSchedule();
+        if (positionOf[job.getId()] >= 0) {
+            throw new IllegalArgumentException("Job already scheduled on " + machine + ": " + job);
+        }
+        if (size == seq.length) {
+            int capacity = Math.max(seq.length * 2, INITIAL_CAPACITY);
+            seq = Arrays.copyOf(seq, capacity);
+            start = Arrays.copyOf(start, capacity);
+            end = Arrays.copyOf(end, capacity);
+        }
+
+        //décale les jobs suivants (et leurs dates) pour garder l'alignement avec la séquence
+        System.arraycopy(seq, position, seq, position + 1, size - position);
+        System.arraycopy(start, position, start, position + 1, size - position);
+        System.arraycopy(end, position, end, position + 1, size - position);
+        seq[position] = job.getId();
+        size++;
+        reindexFrom(position);
+
+        recalculateFrom(position, position);
     }
-    
+
     //removes a job by reference
     public boolean removeJob(Job job) {
-        boolean removed = jobSequence.remove(job);
-        if (removed) {
-            calculateSchedule();
+        int position = positionOf[job.getId()];
+        if (position < 0) {
+            return false;
         }
-        return removed;
+        removeJobAt(position);
+        return true;
     }
 
     //removes a job at a specific position
     public Job removeJobAt(int position) {
-        if (position < 0 || position >= jobSequence.size()) {
+        if (position < 0 || position >= size) {
             throw new IndexOutOfBoundsException("Invalid position: " + position);
         }
-        Job removed = jobSequence.remove(position);
-        calculateSchedule();
-        return removed;
+        int removedId = seq[position];
+        positionOf[removedId] = -1;
+
+        size--;
+        System.arraycopy(seq, position + 1, seq, position, size - position);
+        System.arraycopy(start, position + 1, start, position, size - position);
+        System.arraycopy(end, position + 1, end, position, size - position);
+        reindexFrom(position);
+
+        //le job qui prend la place a le même contenu, seul son prédécesseur change
+        recalculateFrom(position, position - 1);
+        return instance.getJob(removedId);
     }
-    
+
     //swaps two jobs at given positions
     public void swapJobs(int pos1, int pos2) {
-        if (pos1 < 0 || pos1 >= jobSequence.size() || 
-            pos2 < 0 || pos2 >= jobSequence.size()) {
+        if (pos1 < 0 || pos1 >= size ||
+            pos2 < 0 || pos2 >= size) {
             throw new IndexOutOfBoundsException("Invalid swap positions");
         }
-        
-        Collections.swap(jobSequence, pos1, pos2);
-        calculateSchedule();
+
+        int tmp = seq[pos1];
+        seq[pos1] = seq[pos2];
+        seq[pos2] = tmp;
+        positionOf[seq[pos1]] = pos1;
+        positionOf[seq[pos2]] = pos2;
+        recalculateFrom(Math.min(pos1, pos2), Math.max(pos1, pos2));
     }
-    
+
+    //replaces the job at a specific position, returns the job that was there
+    public Job replaceJobAt(int position, Job job) {
+        checkPosition(position);
+        if (positionOf[job.getId()] >= 0) {
+            throw new IllegalArgumentException("Job already scheduled on " + machine + ": " + job);
+        }
+        int replacedId = seq[position];
+        positionOf[replacedId] = -1;
+        seq[position] = job.getId();
+        positionOf[job.getId()] = position;
+        recalculateFrom(position, position);
+        return instance.getJob(replacedId);
+    }
+
     //recalculates the schedule (start times, end times, completion time)
     public void calculateSchedule() {
-        startTimes.clear();
-        endTimes.clear();
-        
-        if (jobSequence.isEmpty()) {
-            completionTime = 0;
-            return;
-        }
-        
-        int currentTime = 0;
-        Job previousJob = null;
-        
-        for (Job job : jobSequence) {
+        recalculateFrom(0, size); //dirtyTo = size => pas d'arrêt anticipé
+    }
+
+    //recalcule les dates à partir de la position from (les positions avant sont inchangées)
+    //dirtyTo = dernière position dont le job a changé : au-delà, dès qu'une date de fin
+    //retombe sur l'ancienne valeur, toute la suite est identique et on peut s'arrêter
+    private void recalculateFrom(int from, int dirtyTo) {
+        int machineId = machine.getId();
+        int currentTime = (from == 0) ? 0 : end[from - 1];
+        int prevId = (from == 0) ? -1 : seq[from - 1];
+
+        for (int i = from; i < size; i++) {
+            int jobId = seq[i];
+
             //le setup commence après la fin du job précédent
-            int setupStartTime = Math.max(currentTime, job.getReleaseDate());
-            
-            //get setup and processing times
-            int setupTime = instance.getSetupTime(previousJob, job, machine);
-            int processingTime = instance.getProcessingTime(job, machine);
-            
+            int setupStartTime = Math.max(currentTime, instance.releaseDate(jobId));
+
+            //get setup and processing times (pas de job précédent => setup initial, diagonale)
+            int setupTime = instance.setupTime((prevId < 0) ? jobId : prevId, jobId, machineId);
+            int processingTime = instance.processingTime(jobId, machineId);
+
             //p_jk starts after setup completes FIX here
             int processingStartTime = setupStartTime + setupTime;
-            
+
             //record time(startTime is when processing begins)
-            startTimes.put(job, processingStartTime);
+            start[i] = processingStartTime;
             int endTime = processingStartTime + processingTime;
-            endTimes.put(job, endTime);
-            
+
+            boolean unchanged = i > dirtyTo && end[i] == endTime;
+            end[i] = endTime;
+            if (unchanged) {
+                break; //même fin, mêmes jobs ensuite => la suite ne bouge pas
+            }
+
             //update pour le next job
             currentTime = endTime;
-            previousJob = job;
+            prevId = jobId;
         }
 
-        //when the last job finishes => completionTime est returned 
-        completionTime = currentTime;
+        //when the last job finishes => completionTime est returned
+        completionTime = (size == 0) ? 0 : end[size - 1];
     }
-    
+
+    // === Évaluation de mouvements (lecture seule, la séquence n'est pas modifiée) ===
+    //chaque méthode repart de la date de fin en cache juste avant la première position touchée,
+    //puis enchaîne la queue inchangée en s'arrêtant dès qu'on retombe sur une ancienne date de fin
+
+    //completion time si on échangeait les jobs aux positions pos1 et pos2
+    public int completionAfterSwap(int pos1, int pos2) {
+        checkPosition(pos1);
+        checkPosition(pos2);
+        int lo = Math.min(pos1, pos2);
+        int hi = Math.max(pos1, pos2);
+        if (lo == hi) {
+            return completionTime;
+        }
+        int time = finish(timeBefore(lo), jobBefore(lo), seq[hi]);
+        int prevId = seq[hi];
+        for (int i = lo + 1; i < hi; i++) {
+            time = finish(time, prevId, seq[i]);
+            prevId = seq[i];
+        }
+        time = finish(time, prevId, seq[lo]);
+        return finishTail(hi + 1, time, seq[lo]);
+    }
+
+    //completion time si le job en position `position` était remplacé par `job`
+    public int completionAfterReplace(int position, Job job) {
+        checkPosition(position);
+        int time = finish(timeBefore(position), jobBefore(position), job.getId());
+        return finishTail(position + 1, time, job.getId());
+    }
+
+    //completion time si on retirait le job en position `position`
+    public int completionAfterRemove(int position) {
+        checkPosition(position);
+        return finishTail(position + 1, timeBefore(position), jobBefore(position));
+    }
+
+    //completion time si on insérait `job` en position `position` (0..size)
+    public int completionAfterInsert(Job job, int position) {
+        if (position < 0 || position > size) {
+            throw new IndexOutOfBoundsException("Invalid position: " + position);
+        }
+        int time = finish(timeBefore(position), jobBefore(position), job.getId());
+        return finishTail(position, time, job.getId());
+    }
+
+    //completion time si on déplaçait le job de la position from vers la position to
+    //(to est la position dans la séquence sans le job, comme removeJobAt(from) puis addJob(job, to))
+    public int completionAfterMove(int from, int to) {
+        checkPosition(from);
+        if (to < 0 || to >= size) {
+            throw new IndexOutOfBoundsException("Invalid position: " + to);
+        }
+        if (from == to) {
+            return completionTime;
+        }
+        int movedId = seq[from];
+        int time;
+        int prevId;
+        if (from < to) {
+            time = timeBefore(from);
+            prevId = jobBefore(from);
+            for (int i = from + 1; i <= to; i++) {
+                time = finish(time, prevId, seq[i]);
+                prevId = seq[i];
+            }
+            time = finish(time, prevId, movedId);
+            return finishTail(to + 1, time, movedId);
+        }
+        time = finish(timeBefore(to), jobBefore(to), movedId);
+        prevId = movedId;
+        for (int i = to; i < from; i++) {
+            time = finish(time, prevId, seq[i]);
+            prevId = seq[i];
+        }
+        return finishTail(from + 1, time, prevId);
+    }
+
+    //date de fin d'un job lancé après prevId (-1 = aucun) quand la machine est libre à `time`
+    private int finish(int time, int prevId, int jobId) {
+        int machineId = machine.getId();
+        return Math.max(time, instance.releaseDate(jobId))
+             + instance.setupTime((prevId < 0) ? jobId : prevId, jobId, machineId)
+             + instance.processingTime(jobId, machineId);
+    }
+
+    //enchaîne les jobs inchangés seq[from..] ; dès qu'une fin retombe sur l'ancienne, la suite est connue
+    private int finishTail(int from, int time, int prevId) {
+        for (int i = from; i < size; i++) {
+            time = finish(time, prevId, seq[i]);
+            if (time == end[i]) {
+                return completionTime;
+            }
+            prevId = seq[i];
+        }
+        return time;
+    }
+
+    private int timeBefore(int position) {
+        return (position == 0) ? 0 : end[position - 1];
+    }
+
+    private int jobBefore(int position) {
+        return (position == 0) ? -1 : seq[position - 1];
+    }
+
+    //met à jour positionOf pour les jobs décalés
+    private void reindexFrom(int from) {
+        for (int i = from; i < size; i++) {
+            positionOf[seq[i]] = i;
+        }
+    }
+
     // === Getters ===
     public Machine getMachine() {
         return machine;
     }
-    
+
     public List<Job> getJobSequence() {
-        return new ArrayList<>(jobSequence); //copie pour éviter modification externe
+        List<Job> jobs = new ArrayList<>(size); //copie pour éviter modification externe
+        for (int i = 0; i < size; i++) {
+            jobs.add(instance.getJob(seq[i]));
+        }
+        return jobs;
     }
-    
+
     public int getCompletionTime() {
         return completionTime;
     }
-    
+
     public int getJobCount() {
-        return jobSequence.size();
+        return size;
+    }
+
+    //accès par position, sans copier la séquence
+    public Job getJobAt(int position) {
+        checkPosition(position);
+        return instance.getJob(seq[position]);
+    }
+
+    public int getJobIdAt(int position) {
+        checkPosition(position);
+        return seq[position];
+    }
+
+    public int getStartTimeAt(int position) {
+        checkPosition(position);
+        return start[position];
+    }
+
+    public int getEndTimeAt(int position) {
+        checkPosition(position);
+        return end[position];
+    }
+
+    //position du job dans la séquence, -1 s'il n'est pas sur cette machine
+    public int indexOf(Job job) {
+        return positionOf[job.getId()];
     }
-    
+
+    public int indexOf(int jobId) {
+        return positionOf[jobId];
+    }
+
+    public boolean contains(Job job) {
+        return positionOf[job.getId()] >= 0;
+    }
+
     public Integer getStartTime(Job job) {
-        return startTimes.get(job);
+        int position = positionOf[job.getId()];
+        return (position < 0) ? null : start[position];
     }
-    
+
     public Integer getEndTime(Job job) {
-        return endTimes.get(job);
+        int position = positionOf[job.getId()];
+        return (position < 0) ? null : end[position];
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Invalid position: " + position);
+        }
     }
 
     //copy of the schedule
     public Schedule copy() {
-        Schedule copy = new Schedule(this.machine, this.instance);
-        copy.jobSequence.addAll(this.jobSequence);
-        copy.calculateSchedule();
-        return copy;
+        return new Schedule(this);
     }
-    
+
 
     //toString for easy printing
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append(machine).append(": ");
-        if (jobSequence.isEmpty()) {
+        if (size == 0) {
             sb.append("[]");
         } else {
             sb.append("[");
-            for (Job job : jobSequence) {
-                sb.append("J").append(job.getId()).append(" ");
+            for (int i = 0; i < size; i++) {
+                sb.append("J").append(seq[i]).append(" ");
             }
             sb.setLength(sb.length() - 1); //rm last space //TODO maybe use join
             sb.append("]");
@@ -5,31 +5,54 @@ import java.util.*;
 
 //une solution est composée d'un ensemble de schedules, un par machine
 //elle permet de calculer le makespan et d'identifier les machines goulot
+//copy-on-write : une copie partage les schedules de l'original, un schedule n'est dupliqué
+//qu'au premier accès en écriture (getSchedule) => copier coûte O(m), pas O(n·m)
 public class Solution {
     private final Schedule[] schedules;
     private final Instance instance;
+    //owned[m] = false si schedules[m] est partagé avec une autre solution (à dupliquer avant écriture)
+    private final boolean[] owned;
     private int makespan;
     private boolean evaluated;
     
+    //suivi des machines modifiées : seules celles-ci sont relues au prochain calcul du makespan
+    //(les schedules tiennent leurs dates à jour eux-mêmes à chaque modification)
+    private final CompletionTree completions;
+    private final boolean[] dirty;
+    private final int[] dirtyMachines;
+    private int dirtyCount;
+    
    //constructor only with instance
     public Solution(Instance instance) {
         this.instance = instance;
         this.schedules = new Schedule[instance.getNumberOfMachines()];
+        this.owned = new boolean[schedules.length];
         
         //init schedule vide pour chaque machine
         for (int i = 0; i < instance.getNumberOfMachines(); i++) {
             schedules[i] = new Schedule(instance.getMachine(i), instance);
+            owned[i] = true;
         }
         
         this.makespan = 0;
         this.evaluated = false;
+        
+        this.completions = new CompletionTree(schedules.length);
+        this.dirty = new boolean[schedules.length];
+        this.dirtyMachines = new int[schedules.length];
+        this.dirtyCount = 0;
     }
     
     // getters 
+    //le schedule retourné peut être modifié par l'appelant => il est dupliqué s'il est partagé
+    //avec une autre solution, et la machine est marquée à réévaluer
     public Schedule getSchedule(int machineId) {
-        if (machineId < 0 || machineId >= schedules.length) {
-            throw new IndexOutOfBoundsException("Invalid machine ID: " + machineId);
+        checkMachine(machineId);
+        if (!owned[machineId]) {
+            schedules[machineId] = schedules[machineId].copy();
+            owned[machineId] = true;
         }
+        markDirty(machineId);
         return schedules[machineId];
     }
     
@@ -37,20 +60,33 @@ public class Solution {
         return getSchedule(machine.getId());
     }
     
-    //calculates the makespan by evaluating each schedule
+    //accès en lecture seule : ni copie ni réévaluation. Le schedule retourné peut être partagé
+    //avec d'autres solutions, il ne doit PAS être modifié (utiliser getSchedule pour ça)
+    public Schedule viewSchedule(int machineId) {
+        checkMachine(machineId);
+        return schedules[machineId];
+    }
+    
+    public Schedule viewSchedule(Machine machine) {
+        return viewSchedule(machine.getId());
+    }
+    
+    //calculates the makespan from the cached completion times, re-reading only the modified machines
     //sets evaluated to true
     public void calculateMakespan() {
-        makespan = 0;
-        for (Schedule schedule : schedules) {
-            schedule.calculateSchedule();
-            makespan = Math.max(makespan, schedule.getCompletionTime());
+        for (int i = 0; i < dirtyCount; i++) {
+            int m = dirtyMachines[i];
+            completions.set(m, schedules[m].getCompletionTime());
+            dirty[m] = false;
         }
+        dirtyCount = 0;
+        makespan = completions.max();
         evaluated = true;
     }
     
     //yet another getter that we'll need each time
     public int getMakespan() {
-        if (!evaluated) {
+        if (!evaluated || dirtyCount > 0) {
             calculateMakespan();
         }
         return makespan;
@@ -58,36 +94,107 @@ public class Solution {
 
     //identifies bottleneck machines aka those with completion time == makespan
     public List<Machine> getBottleneckMachines() {
-        int currentMakespan = getMakespan();
-        List<Machine> bottlenecks = new ArrayList<>();
+        getMakespan();
+        List<Integer> machineIds = new ArrayList<>();
+        completions.collectMax(machineIds);
         
-        for (Schedule schedule : schedules) {
-            if (schedule.getCompletionTime() == currentMakespan) {
-                bottlenecks.add(schedule.getMachine());
-            }
+        List<Machine> bottlenecks = new ArrayList<>(machineIds.size());
+        for (int machineId : machineIds) {
+            bottlenecks.add(schedules[machineId].getMachine());
         }
         
         return bottlenecks;
     }
     
-    //marks the solution as needing reevaluation
+    //évalue l'échange du job (machine1, pos1) avec le job (machine2, pos2) sans modifier la solution
+    //(même machine => swap interne)
+    public MoveEvaluation evaluateSwap(int machine1, int pos1, int machine2, int pos2) {
+        checkMachine(machine1);
+        checkMachine(machine2);
+        getMakespan(); //completion times à jour avant de lire l'arbre
+        Schedule schedule1 = schedules[machine1];
+        if (machine1 == machine2) {
+            int completion = schedule1.completionAfterSwap(pos1, pos2);
+            int makespan = Math.max(maxCompletionExcluding(machine1, machine1), completion);
+            return new MoveEvaluation(machine1, completion, machine1, completion, makespan);
+        }
+        Schedule schedule2 = schedules[machine2];
+        int completion1 = schedule1.completionAfterReplace(pos1, schedule2.getJobAt(pos2));
+        int completion2 = schedule2.completionAfterReplace(pos2, schedule1.getJobAt(pos1));
+        int makespan = Math.max(maxCompletionExcluding(machine1, machine2), Math.max(completion1, completion2));
+        return new MoveEvaluation(machine1, completion1, machine2, completion2, makespan);
+    }
+    
+    //évalue le déplacement du job (fromMachine, fromPos) vers la position toPos de toMachine sans modifier la solution
+    //toPos suit la sémantique de removeJobAt puis addJob(job, toPos)
+    public MoveEvaluation evaluateInsert(int fromMachine, int fromPos, int toMachine, int toPos) {
+        checkMachine(fromMachine);
+        checkMachine(toMachine);
+        getMakespan(); //completion times à jour avant de lire l'arbre
+        Schedule from = schedules[fromMachine];
+        if (fromMachine == toMachine) {
+            int completion = from.completionAfterMove(fromPos, toPos);
+            int makespan = Math.max(maxCompletionExcluding(fromMachine, fromMachine), completion);
+            return new MoveEvaluation(fromMachine, completion, fromMachine, completion, makespan);
+        }
+        Schedule to = schedules[toMachine];
+        int completion1 = from.completionAfterRemove(fromPos);
+        int completion2 = to.completionAfterInsert(from.getJobAt(fromPos), toPos);
+        int makespan = Math.max(maxCompletionExcluding(fromMachine, toMachine), Math.max(completion1, completion2));
+        return new MoveEvaluation(fromMachine, completion1, toMachine, completion2, makespan);
+    }
+    
+    //plus grand completion time parmi les machines autres que excluded1 et excluded2
+    private int maxCompletionExcluding(int excluded1, int excluded2) {
+        return completions.maxExcluding(excluded1, excluded2);
+    }
+    
+    private void markDirty(int machineId) {
+        if (!dirty[machineId]) {
+            dirty[machineId] = true;
+            dirtyMachines[dirtyCount++] = machineId;
+        }
+    }
+    
+    private void checkMachine(int machineId) {
+        if (machineId < 0 || machineId >= schedules.length) {
+            throw new IndexOutOfBoundsException("Invalid machine ID: " + machineId);
+        }
+    }
+    
+    //marks the solution as needing reevaluation (toutes les machines seront relues)
     public void invalidate() {
+        for (int m = 0; m < schedules.length; m++) {
+            markDirty(m);
+        }
         evaluated = false;
     }
     
     //same as in schedule, just copies in case 
+    //les schedules sont partagés (copy-on-write) : la copie et l'original dupliqueront
+    //chacun un schedule au moment de le modifier
+    //attention : copy() modifie la source, dont tous les drapeaux de propriété (owned) sont remis à false
+    //=> ne pas copier une solution qu'un autre thread est en train de modifier
     public Solution copy() {
-        Solution copy = new Solution(this.instance);
+        return new Solution(this);
+    }
+    
+    //copy constructor : recopie aussi les completion times en cache et l'état "à réévaluer"
+    private Solution(Solution other) {
+        this.instance = other.instance;
+        this.schedules = other.schedules.clone();
         
-        // chaque schedule
-        for (int i = 0; i < schedules.length; i++) {
-            copy.schedules[i] = this.schedules[i].copy();
-        }
+        // chaque schedule est désormais partagé des deux côtés
+        this.owned = new boolean[schedules.length];
+        Arrays.fill(other.owned, false);
         
-        copy.makespan = this.makespan;
-        copy.evaluated = this.evaluated;
+        this.makespan = other.makespan;
+        this.evaluated = other.evaluated;
         
-        return copy;
+        this.completions = new CompletionTree(other.completions);
+        this.dirty = other.dirty.clone();
+        this.dirtyMachines = other.dirtyMachines.clone();
+        this.dirtyCount = other.dirtyCount;
     }
     
     // === Other getters ===
@@ -1,101 +1,59 @@
 package test;
 
-import algo.heuristic.BIBAHeuristic;
-import algo.metaheuristic.LAHCMetaheuristic;
-import domain.Instance;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import solution.Solution;
-import utils.InstanceReader;
+import algo.metrics.SearchMetrics;
+import java.util.List;
+import utils.BatchRunner;
+import utils.CsvResultWriter;
+import utils.Result;
 
 public class BenchmarkTest {
     private static final String CSV_FILE = "resources/out/benchmark_results.csv";
-    private static final int NUM_RUNS = 100;
-    
+    private static final String METRICS_FILE = "resources/out/benchmark_metrics.csv";
+
     public static void main(String[] args) throws Exception {
         System.out.println("╔════════════════════════════════════════════════════════════╗");
         System.out.println("║              BENCHMARK - LAHC Performance                  ║");
         System.out.println("╚════════════════════════════════════════════════════════════╝\n");
-        
-        // Initialize CSV with headers
-        try (PrintWriter writer = new PrintWriter(new FileWriter(CSV_FILE))) {
-            writer.println("run_id,jobs,machines,initial_makespan,final_makespan,improvement_pct,iterations,last_improvement_iter,exec_time_ms,timestamp");
-        }
-        
-        System.out.printf("Running %d instances...\n\n", NUM_RUNS);
-        
+
+        //jobs 5-20, machines 2-5 comme avant, mais en balayage reproductible : 6 x 4 x 4 graines = 96 runs
+        //optional arg: number of threads (one per core by default)
+        BatchRunner.Sweep sweep = BatchRunner.Sweep.of(5, 20, 2, 5)
+                                                   .withSteps(3, 1)
+                                                   .withSeeds(1, 2, 3, 4);
+        BatchRunner runner = (args.length > 0) ? new BatchRunner(Integer.parseInt(args[0])) : new BatchRunner();
+
+        System.out.printf("Running %s...\n\n", sweep);
+
+        //les runs finissent dans le désordre => une ligne complète par run (printf est synchronisé)
+        runner.setOnResult(r -> System.out.printf("Run %3d | Jobs: %2d | Machines: %d | Cmax: %3d → %3d (%.1f%%) | %d iters\n",
+            r.getRunId(), r.getNumberOfJobs(), r.getNumberOfMachines(),
+            r.getInitialMakespan(), r.getFinalMakespan(), r.getImprovementPercent(), r.getIterations()));
+
+        //compteurs par opérateur sur tout le balayage, visibles dans jconsole pendant l'exécution
+        SearchMetrics metrics = new SearchMetrics();
+        metrics.register("benchmark");
+        runner.setMetrics(metrics);
+
         long totalStartTime = System.currentTimeMillis();
-        
-        for (int i = 0; i < NUM_RUNS; i++) {
-            int randomJobNumber = 5 + (int)(Math.random() * 16); // 5-20
-            int randomMachineNumber = 2 + (int)(Math.random() * 4); // 2-5
-            Instance instance = InstanceReader.createRandomInstance(
-                randomJobNumber, 
-                randomMachineNumber, 
-                10, // max processing time
-                5,  // max setup time
-                0.5 // release date factor
-            );
-            
-            System.out.printf("Run %3d/%d | Jobs: %2d | Machines: %d | ", 
-                i+1, NUM_RUNS, randomJobNumber, randomMachineNumber);
-            
-            solveLAHC(instance, i+1);
-            
-            if ((i+1) % 10 == 0) {
-                System.out.println("\n" + "─".repeat(60));
-            }
+
+        List<Result> results;
+        try (CsvResultWriter csv = new CsvResultWriter(CSV_FILE)) {
+            results = runner.run(sweep, csv);
         }
-        
+
         long totalEndTime = System.currentTimeMillis();
         double totalTime = (totalEndTime - totalStartTime) / 1000.0;
-        
-        System.out.println("\n" + "═".repeat(60));
-        System.out.printf("Benchmark completed in %.2f seconds\n", totalTime);
-        System.out.println("═".repeat(60));
-    }
 
-    private static void solveLAHC(Instance instance, int runNumber) {
-        BIBAHeuristic biba = new BIBAHeuristic();
-        LAHCMetaheuristic lahc = new LAHCMetaheuristic(biba);
-        
-        long startTime = System.currentTimeMillis();
-        Solution solution = lahc.solve(instance);
-        long endTime = System.currentTimeMillis();
-        long executionTime = endTime - startTime;
+        metrics.writeCsv(METRICS_FILE);
+        metrics.unregister();
 
-        int initialMakespan = lahc.getInitialMakespan();
-        int finalMakespan = lahc.getBestMakespan();
-        double improvementPercent = 100.0 * (initialMakespan - finalMakespan) / (double) initialMakespan;
-        
-        int iterationCount = lahc.getIterationCount();
-        int lastImprovementIter = lahc.getLastImprovementIteration();
-        
-        //progress
-        System.out.printf("Cmax: %3d → %3d (%.1f%%) | %d iters\n",
-            initialMakespan, finalMakespan, improvementPercent, iterationCount);
-        
-        // 2 CSV w/ timestamp
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        
-        try (PrintWriter writer = new PrintWriter(new FileWriter(CSV_FILE, true))) {
-            writer.printf("%d,%d,%d,%d,%d,%.2f,%d,%d,%d,%s%n",
-                runNumber,
-                instance.getNumberOfJobs(),
-                instance.getNumberOfMachines(),
-                initialMakespan,
-                finalMakespan,
-                improvementPercent,
-                iterationCount,
-                lastImprovementIter,
-                executionTime,
-                timestamp
-            );
-        } catch (IOException e) {
-            System.err.println("Error CSV: " + e.getMessage());
-        }
+        double meanImprovement = results.stream().mapToDouble(Result::getImprovementPercent).average().orElse(0);
+
+        System.out.println("\n" + "═".repeat(60));
+        System.out.printf("Benchmark completed in %.2f seconds (%d runs, mean improvement %.1f%%)\n",
+                          totalTime, results.size(), meanImprovement);
+        System.out.println("Results written to: " + CSV_FILE + " (operators: " + METRICS_FILE + ")");
+        System.out.println(metrics);
+        System.out.println("═".repeat(60));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package test;
+
+import domain.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.file.*;
+import java.util.*;
+import utils.*;
+
+/**
+ * Format binaire des instances : aller-retour texte -> binaire -> Instance (brut et deflate, backends
+ * HEAP / OFF_HEAP / MAPPED) avec comparaison de chaque p / s / r, pour les 3 largeurs de cellule de setup,
+ * puis les fichiers corrompus ou tronqués (InstanceFormatException avec un message clair).
+ */
+public class BinaryInstanceTest {
+    private static final int WIDTH_OFFSET = 16; //cf BinaryInstanceFormat
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("╔════════════════════════════════════════════════════════════╗");
+        System.out.println("║         TEST - Format binaire des instances                ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+
+        Path dir = Files.createTempDirectory("lahc-binary-test");
+        try {
+            //--- TEST 1: aller-retour, une instance par largeur de cellule ---
+            testRoundTrip(dir, 1, 200);
+            testRoundTrip(dir, 2, 300);
+            testRoundTrip(dir, 4, 70_000);
+
+            //--- TEST 2: erreurs ---
+            testErrors(dir);
+        } finally {
+            deleteAll(dir);
+        }
+
+        System.out.println("\n=== ALL GOOD 👍===");
+    }
+
+    //instance aléatoire dont une cellule de setup vaut maxSetup => largeur attendue
+    private static void testRoundTrip(Path dir, int expectedWidth, int maxSetup) throws IOException {
+        Instance original = InstanceReader.createRandomInstance(17, 3, 100, 20, 0.5, expectedWidth);
+        original.setSetupTime(4, 9, 2, maxSetup);
+
+        Path text = dir.resolve("w" + expectedWidth + ".txt");
+        Path binary = dir.resolve("w" + expectedWidth + ".bin");
+        Path deflated = dir.resolve("w" + expectedWidth + ".bin.z");
+        Path back = dir.resolve("w" + expectedWidth + ".back.txt");
+        InstanceConverter.writeText(original, text);
+        InstanceConverter.textToBinary(text, binary, false);
+        InstanceConverter.textToBinary(text, deflated, true);
+
+        check(InstanceConverter.isBinary(binary) && !InstanceConverter.isBinary(text), "isBinary");
+        check(Files.readAllBytes(binary)[WIDTH_OFFSET] == expectedWidth, "cell width of " + binary.getFileName());
+        check(Files.readAllBytes(deflated)[WIDTH_OFFSET] == expectedWidth, "cell width of " + deflated.getFileName());
+
+        for (SetupMatrix.Backend backend : SetupMatrix.Backend.values()) {
+            compare(original, BinaryInstanceReader.read(binary, backend), "binary " + backend + " width " + expectedWidth);
+            compare(original, BinaryInstanceReader.read(deflated, backend), "deflate " + backend + " width " + expectedWidth);
+        }
+
+        //et retour au texte
+        InstanceConverter.binaryToText(binary, back);
+        compare(original, InstanceReader.readFromFile(back.toString()), "binary -> text width " + expectedWidth);
+
+        System.out.println("  OK round trip, " + expectedWidth + "-byte cells");
+    }
+
+    private static void testErrors(Path dir) throws IOException {
+        Instance instance = InstanceReader.createRandomInstance(8, 2, 50, 20, 0.5, 7L);
+        Path valid = dir.resolve("valid.bin");
+        Path deflated = dir.resolve("valid.bin.z");
+        BinaryInstanceWriter.write(instance, valid);
+        BinaryInstanceWriter.write(instance, deflated, true);
+        byte[] bytes = Files.readAllBytes(valid);
+        byte[] zbytes = Files.readAllBytes(deflated);
+
+        //en-tête tronqué
+        expectError(dir, Arrays.copyOf(bytes, 10), "unexpected end of file");
+        expectError(dir, new byte[0], "unexpected end of file");
+
+        //en-tête corrompu
+        byte[] badMagic = bytes.clone();
+        badMagic[0] = 'X';
+        expectError(dir, badMagic, "bad magic");
+
+        byte[] badVersion = bytes.clone();
+        ByteBuffer.wrap(badVersion).order(ByteOrder.LITTLE_ENDIAN).putShort(4, (short) 99);
+        expectError(dir, badVersion, "unsupported format version 99");
+
+        byte[] badDimensions = bytes.clone();
+        ByteBuffer.wrap(badDimensions).order(ByteOrder.LITTLE_ENDIAN).putInt(8, 0);
+        expectError(dir, badDimensions, "invalid dimensions");
+
+        byte[] badWidth = bytes.clone();
+        badWidth[WIDTH_OFFSET] = 3;
+        expectError(dir, badWidth, "invalid setup cell width 3");
+
+        //données tronquées
+        expectError(dir, Arrays.copyOf(bytes, bytes.length - 5), "truncated file");
+        expectError(dir, Arrays.copyOf(bytes, 40), "truncated file");
+        expectError(dir, Arrays.copyOf(zbytes, zbytes.length - 8), "unexpected end of data");
+
+        //flux deflate corrompu (juste après l'en-tête)
+        byte[] badDeflate = zbytes.clone();
+        for (int i = 20; i < 26; i++) {
+            badDeflate[i] = (byte) 0xFF;
+        }
+        expectError(dir, badDeflate, "corrupted deflate data");
+
+        System.out.println("  OK corrupted / truncated files");
+    }
+
+    //le fichier doit être refusé avec une InstanceFormatException dont le message contient expected
+    private static void expectError(Path dir, byte[] content, String expected) throws IOException {
+        Path file = dir.resolve("broken.bin");
+        Files.write(file, content);
+        for (SetupMatrix.Backend backend : SetupMatrix.Backend.values()) {
+            try {
+                BinaryInstanceReader.read(file, backend);
+            } catch (InstanceFormatException e) {
+                check(e.getMessage().contains(expected), "expected '" + expected + "', got '" + e.getMessage() + "'");
+                check(e.getOffset() >= 0, "no offset in '" + e.getMessage() + "'");
+                continue;
+            }
+            throw new AssertionError("ERROR: accepted a broken file, expected '" + expected + "' (" + backend + ")");
+        }
+        System.out.println("    rejected: " + expected);
+    }
+
+    //chaque release date, processing time et setup time
+    private static void compare(Instance expected, Instance actual, String what) {
+        int n = expected.getNumberOfJobs();
+        int m = expected.getNumberOfMachines();
+        check(actual.getNumberOfJobs() == n && actual.getNumberOfMachines() == m, what + ": dimensions");
+        for (int j = 0; j < n; j++) {
+            check(actual.releaseDate(j) == expected.releaseDate(j), what + ": r[" + j + "]");
+            for (int k = 0; k < m; k++) {
+                check(actual.processingTime(j, k) == expected.processingTime(j, k), what + ": p[" + j + "][" + k + "]");
+            }
+        }
+        for (int k = 0; k < m; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    check(actual.setupTime(i, j, k) == expected.setupTime(i, j, k),
+                          what + ": s[" + i + "][" + j + "][" + k + "]");
+                }
+            }
+        }
+    }
+
+    //échoue même sans -ea
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("ERROR: " + message);
+        }
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+}
@@ -0,0 +1,147 @@
+package test;
+
+import algo.heuristic.*;
+import domain.*;
+import java.util.*;
+import solution.*;
+import utils.*;
+
+/**
+ * Isolation des copies de Solution (schedules partagés en copy-on-write) : modifier une copie via
+ * getSchedule ne doit jamais se voir dans l'original, et inversement, y compris pour des copies de copies.
+ * Vérifie aussi que seules les machines modifiées sont dupliquées.
+ */
+public class CopyOnWriteTest {
+
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════════════════════════╗");
+        System.out.println("║         TEST - Copy-on-write des solutions                 ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+
+        Instance instance = InstanceReader.createRandomInstance(30, 4, 50, 20, 0.5, 11L);
+
+        //--- TEST 1: modifier la copie ---
+        Solution original = new BIBAHeuristic().buildInitialSolution(instance);
+        Snapshot before = new Snapshot(original);
+        Solution copy = original.copy();
+        modify(copy);
+        before.check(original, "original after modifying the copy");
+        check(!new Snapshot(copy).equals(before), "the copy was not modified");
+        checkMakespan(copy, "modified copy");
+        System.out.println("  OK copy modified, original unchanged");
+
+        //--- TEST 2: modifier l'original ---
+        original = new BIBAHeuristic().buildInitialSolution(instance);
+        copy = original.copy();
+        Snapshot copyBefore = new Snapshot(copy);
+        modify(original);
+        copyBefore.check(copy, "copy after modifying the original");
+        checkMakespan(original, "modified original");
+        System.out.println("  OK original modified, copy unchanged");
+
+        //--- TEST 3: copies de copies, chacune modifiée à son tour ---
+        Solution first = new BIBAHeuristic().buildInitialSolution(instance);
+        Solution second = first.copy();
+        Solution third = second.copy();
+        Snapshot firstBefore = new Snapshot(first);
+        Snapshot thirdBefore = new Snapshot(third);
+        modify(second);
+        firstBefore.check(first, "first after modifying the second");
+        thirdBefore.check(third, "third after modifying the second");
+        Snapshot secondAfter = new Snapshot(second);
+        modify(third);
+        firstBefore.check(first, "first after modifying the third");
+        secondAfter.check(second, "second after modifying the third");
+        modify(first);
+        secondAfter.check(second, "second after modifying the first");
+        System.out.println("  OK chain of copies");
+
+        //--- TEST 4: seules les machines modifiées sont dupliquées ---
+        original = new BIBAHeuristic().buildInitialSolution(instance);
+        copy = original.copy();
+        copy.getSchedule(0).swapJobs(0, 1);
+        check(copy.viewSchedule(0) != original.viewSchedule(0), "machine 0 not duplicated");
+        for (int m = 1; m < instance.getNumberOfMachines(); m++) {
+            check(copy.viewSchedule(m) == original.viewSchedule(m), "machine " + m + " duplicated without a write");
+        }
+        Schedule owned = copy.getSchedule(0);
+        check(copy.getSchedule(0) == owned, "machine 0 duplicated twice");
+        //l'original a perdu la propriété de ses schedules à la copie : sa prochaine écriture duplique aussi
+        Schedule shared = original.viewSchedule(1);
+        original.getSchedule(1);
+        check(original.viewSchedule(1) != shared && copy.viewSchedule(1) == shared, "source still owned its schedules after copy()");
+        System.out.println("  OK only written machines are duplicated");
+
+        System.out.println("\n=== ALL GOOD 👍===");
+    }
+
+    //swap interne, déplacement entre machines et échange entre machines, via getSchedule
+    private static void modify(Solution solution) {
+        solution.getSchedule(0).swapJobs(0, solution.viewSchedule(0).getJobCount() - 1);
+        Job moved = solution.getSchedule(1).removeJobAt(0);
+        solution.getSchedule(2).addJob(moved, 1);
+        Job fromThree = solution.getSchedule(3).removeJobAt(0);
+        Job fromTwo = solution.getSchedule(2).replaceJobAt(0, fromThree);
+        solution.getSchedule(3).addJob(fromTwo, 0);
+        solution.calculateMakespan();
+    }
+
+    //le makespan en cache == max des completion times recalculés depuis zéro
+    private static void checkMakespan(Solution solution, String what) {
+        int makespan = 0;
+        for (int m = 0; m < solution.getNumberOfMachines(); m++) {
+            Schedule fresh = solution.viewSchedule(m).copy();
+            fresh.calculateSchedule();
+            check(fresh.getCompletionTime() == solution.viewSchedule(m).getCompletionTime(), what + ": M" + m + " completion");
+            makespan = Math.max(makespan, fresh.getCompletionTime());
+        }
+        check(solution.getMakespan() == makespan, what + ": makespan " + solution.getMakespan() + " != " + makespan);
+    }
+
+    //séquences, dates de fin et makespan d'une solution
+    private static final class Snapshot {
+        private final List<List<Integer>> sequences = new ArrayList<>();
+        private final List<List<Integer>> ends = new ArrayList<>();
+        private final int makespan;
+
+        Snapshot(Solution solution) {
+            for (int m = 0; m < solution.getNumberOfMachines(); m++) {
+                Schedule schedule = solution.viewSchedule(m);
+                List<Integer> sequence = new ArrayList<>();
+                List<Integer> end = new ArrayList<>();
+                for (int i = 0; i < schedule.getJobCount(); i++) {
+                    sequence.add(schedule.getJobIdAt(i));
+                    end.add(schedule.getEndTimeAt(i));
+                }
+                sequences.add(sequence);
+                ends.add(end);
+            }
+            makespan = solution.getMakespan();
+        }
+
+        void check(Solution solution, String what) {
+            Snapshot now = new Snapshot(solution);
+            CopyOnWriteTest.check(now.sequences.equals(sequences), what + ": sequences changed");
+            CopyOnWriteTest.check(now.ends.equals(ends), what + ": end times changed");
+            CopyOnWriteTest.check(now.makespan == makespan, what + ": makespan changed");
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Snapshot && ((Snapshot) other).sequences.equals(sequences)
+                   && ((Snapshot) other).makespan == makespan;
+        }
+
+        @Override
+        public int hashCode() {
+            return sequences.hashCode();
+        }
+    }
+
+    //échoue même sans -ea
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("ERROR: " + message);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package test;
+
+import domain.*;
+import java.util.*;
+import solution.*;
+import utils.*;
+
+/**
+ * Recalcul incrémental des dates (Schedule.recalculateFrom, arrêt dès qu'une date de fin retombe sur
+ * l'ancienne) et makespan incrémental de Solution (machines marquées modifiées + arbre de max) :
+ * suites aléatoires d'ajouts / retraits / swaps / remplacements / déplacements, chaque date de début
+ * et de fin comparée à un recalcul naïf depuis la séquence.
+ * Les évaluations de mouvements lisent le max hors une ou deux machines (CompletionTree.maxExcluding) :
+ * toutes les paires de machines (égales, adjacentes, éloignées), m = 1 et m non puissance de 2.
+ */
+public class IncrementalScheduleTest {
+    private static long checks = 0;
+
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════════════════════════╗");
+        System.out.println("║         TEST - Recalcul incrémental des dates              ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+
+        //petits temps => beaucoup de dates de fin égales (arrêt anticipé) ; grand facteur => des attentes
+        Instance[] instances = {
+            InstanceReader.createRandomInstance(25, 3, 100, 40, 0.5, 1L),
+            InstanceReader.createRandomInstance(25, 3, 3, 2, 0.5, 2L),
+            InstanceReader.createRandomInstance(25, 3, 20, 10, 3.0, 3L),
+        };
+
+        //--- TEST 1: Schedule, opérations aléatoires ---
+        for (int k = 0; k < instances.length; k++) {
+            testSchedule(instances[k], 100 + k);
+        }
+        System.out.println("  OK schedule operations, " + checks + " states");
+
+        //--- TEST 2: Solution, makespan après des modifications sur plusieurs machines ---
+        checks = 0;
+        for (int machines : new int[] { 1, 2, 3, 5, 8 }) {
+            for (long seed = 1; seed <= 3; seed++) {
+                Instance instance = InstanceReader.createRandomInstance(30, machines, 60, 20, (seed == 3) ? 3.0 : 0.5, seed);
+                testSolution(instance, seed);
+            }
+        }
+        System.out.println("  OK solution makespan, " + checks + " states");
+
+        //--- TEST 3: max hors une ou deux machines, via les évaluations de mouvements ---
+        checks = 0;
+        for (int machines : new int[] { 1, 2, 3, 4, 5, 7 }) {
+            for (long seed = 1; seed <= 3; seed++) {
+                Instance instance = InstanceReader.createRandomInstance(3 * machines + 2, machines, 60, 20, 0.5, seed);
+                testMaxExcluding(instance, seed);
+            }
+        }
+        System.out.println("  OK max excluding machines, " + checks + " evaluations");
+
+        System.out.println("\n=== ALL GOOD 👍===");
+    }
+
+    private static void testSchedule(Instance instance, long seed) {
+        Random random = new Random(seed);
+        int n = instance.getNumberOfJobs();
+        for (int machine = 0; machine < instance.getNumberOfMachines(); machine++) {
+            Schedule schedule = new Schedule(instance.getMachine(machine), instance);
+            List<Integer> unscheduled = new ArrayList<>();
+            for (int j = 0; j < n; j++) {
+                unscheduled.add(j);
+            }
+            for (int step = 0; step < 2000; step++) {
+                int size = schedule.getJobCount();
+                int operation = random.nextInt(5);
+                String what = "M" + machine + " step " + step;
+                if (size == 0 || (operation == 0 && !unscheduled.isEmpty())) {
+                    int job = unscheduled.remove(random.nextInt(unscheduled.size()));
+                    int position = random.nextInt(size + 1);
+                    schedule.addJob(instance.getJob(job), position);
+                    what += " add " + job + " at " + position;
+                } else if (operation == 1 && size > n / 3) {
+                    int position = random.nextInt(size);
+                    unscheduled.add(schedule.removeJobAt(position).getId());
+                    what += " remove at " + position;
+                } else if (operation == 2) {
+                    int pos1 = random.nextInt(size);
+                    int pos2 = random.nextInt(size);
+                    schedule.swapJobs(pos1, pos2);
+                    what += " swap " + pos1 + " " + pos2;
+                } else if (operation == 3 && !unscheduled.isEmpty()) {
+                    int index = random.nextInt(unscheduled.size());
+                    int position = random.nextInt(size);
+                    unscheduled.set(index, schedule.replaceJobAt(position, instance.getJob(unscheduled.get(index))).getId());
+                    what += " replace at " + position;
+                } else {
+                    //déplacement sur la machine : retrait puis insertion
+                    int from = random.nextInt(size);
+                    Job job = schedule.removeJobAt(from);
+                    int to = random.nextInt(size);
+                    schedule.addJob(job, to);
+                    what += " move " + from + " -> " + to;
+                }
+                checkSchedule(schedule, instance, machine, what);
+            }
+        }
+    }
+
+    //modifications via getSchedule sur des machines au hasard, makespan lu ou non entre deux,
+    //copies prises au milieu (machines encore marquées modifiées)
+    private static void testSolution(Instance instance, long seed) {
+        Random random = new Random(seed);
+        int m = instance.getNumberOfMachines();
+        Solution solution = new Solution(instance);
+        for (int j = 0; j < instance.getNumberOfJobs(); j++) {
+            solution.getSchedule(random.nextInt(m)).addJob(instance.getJob(j));
+        }
+        checkSolution(solution, "initial");
+        List<Solution> copies = new ArrayList<>();
+        List<Integer> copyMakespans = new ArrayList<>();
+        for (int step = 0; step < 1500; step++) {
+            int changes = 1 + random.nextInt(3);
+            for (int c = 0; c < changes; c++) {
+                int from = random.nextInt(m);
+                int to = random.nextInt(m);
+                int fromCount = solution.viewSchedule(from).getJobCount();
+                if (fromCount == 0) {
+                    continue;
+                }
+                if (random.nextBoolean() && fromCount >= 2) {
+                    solution.getSchedule(from).swapJobs(random.nextInt(fromCount), random.nextInt(fromCount));
+                } else {
+                    Job job = solution.getSchedule(from).removeJobAt(random.nextInt(fromCount));
+                    solution.getSchedule(to).addJob(job, random.nextInt(solution.viewSchedule(to).getJobCount() + 1));
+                }
+            }
+            if (random.nextInt(10) == 0) {
+                Solution copy = solution.copy();
+                copies.add(copy);
+                copyMakespans.add(naiveMakespan(copy));
+            }
+            if (random.nextInt(3) != 0) {
+                checkSolution(solution, "step " + step);
+            }
+        }
+        checkSolution(solution, "final");
+        for (int i = 0; i < copies.size(); i++) {
+            check(copies.get(i).getMakespan() == copyMakespans.get(i), "copy " + i + ": makespan");
+            checkSolution(copies.get(i), "copy " + i);
+        }
+    }
+
+    //tous les swaps et déplacements entre toutes les paires de machines, makespan évalué == recalcul naïf
+    private static void testMaxExcluding(Instance instance, long seed) {
+        Random random = new Random(seed);
+        int m = instance.getNumberOfMachines();
+        Solution solution = new Solution(instance);
+        //machines déséquilibrées => le max hors machines exclues change selon la paire
+        for (int j = 0; j < instance.getNumberOfJobs(); j++) {
+            int machine = (random.nextInt(3) == 0) ? 0 : random.nextInt(m);
+            solution.getSchedule(machine).addJob(instance.getJob(j));
+        }
+        solution.calculateMakespan();
+        for (int m1 = 0; m1 < m; m1++) {
+            for (int m2 = 0; m2 < m; m2++) {
+                int count1 = solution.viewSchedule(m1).getJobCount();
+                int count2 = solution.viewSchedule(m2).getJobCount();
+                for (int p1 = 0; p1 < count1; p1++) {
+                    for (int p2 = 0; p2 < count2; p2++) {
+                        if (m1 != m2 || p1 < p2) {
+                            MoveEvaluation eval = solution.evaluateSwap(m1, p1, m2, p2);
+                            Solution applied = solution.copy();
+                            if (m1 == m2) {
+                                applied.getSchedule(m1).swapJobs(p1, p2);
+                            } else {
+                                Job job1 = applied.getSchedule(m1).getJobAt(p1);
+                                Job job2 = applied.getSchedule(m2).replaceJobAt(p2, job1);
+                                applied.getSchedule(m1).replaceJobAt(p1, job2);
+                            }
+                            checkEvaluation(eval, applied, "swap M" + m1 + ":" + p1 + " M" + m2 + ":" + p2);
+                        }
+                    }
+                    int positions = count2 + ((m1 == m2) ? 0 : 1);
+                    for (int toPos = 0; toPos < positions; toPos++) {
+                        MoveEvaluation eval = solution.evaluateInsert(m1, p1, m2, toPos);
+                        Solution applied = solution.copy();
+                        Job job = applied.getSchedule(m1).removeJobAt(p1);
+                        applied.getSchedule(m2).addJob(job, toPos);
+                        checkEvaluation(eval, applied, "insert M" + m1 + ":" + p1 + " -> M" + m2 + ":" + toPos);
+                    }
+                }
+            }
+        }
+        checkSolution(solution, "after evaluations");
+    }
+
+    private static void checkEvaluation(MoveEvaluation eval, Solution applied, String what) {
+        int makespan = naiveMakespan(applied);
+        check(eval.makespan == makespan, what + ": evaluated makespan " + eval.makespan + " != " + makespan);
+        check(applied.getMakespan() == makespan, what + ": applied makespan " + applied.getMakespan() + " != " + makespan);
+        checks++;
+    }
+
+    //dates de chaque position, completion time, makespan et machines goulots
+    private static void checkSolution(Solution solution, String what) {
+        Instance instance = solution.getInstance();
+        int makespan = naiveMakespan(solution);
+        check(solution.getMakespan() == makespan, what + ": makespan " + solution.getMakespan() + " != " + makespan);
+        List<Integer> expected = new ArrayList<>();
+        for (int m = 0; m < solution.getNumberOfMachines(); m++) {
+            checkSchedule(solution.viewSchedule(m), instance, m, what);
+            if (solution.viewSchedule(m).getCompletionTime() == makespan) {
+                expected.add(m);
+            }
+        }
+        List<Integer> bottlenecks = new ArrayList<>();
+        for (Machine machine : solution.getBottleneckMachines()) {
+            bottlenecks.add(machine.getId());
+        }
+        check(bottlenecks.equals(expected), what + ": bottlenecks " + bottlenecks + " != " + expected);
+    }
+
+    //setup après la fin du job précédent et la release date, setup initial = diagonale
+    private static void checkSchedule(Schedule schedule, Instance instance, int machine, String what) {
+        int time = 0;
+        int prevId = -1;
+        for (int i = 0; i < schedule.getJobCount(); i++) {
+            int jobId = schedule.getJobIdAt(i);
+            int setupStart = Math.max(time, instance.releaseDate(jobId));
+            int start = setupStart + instance.setupTime((prevId < 0) ? jobId : prevId, jobId, machine);
+            time = start + instance.processingTime(jobId, machine);
+            check(schedule.getStartTimeAt(i) == start, what + ": start[" + i + "] " + schedule.getStartTimeAt(i) + " != " + start);
+            check(schedule.getEndTimeAt(i) == time, what + ": end[" + i + "] " + schedule.getEndTimeAt(i) + " != " + time);
+            check(schedule.indexOf(jobId) == i, what + ": position of job " + jobId);
+            prevId = jobId;
+        }
+        check(schedule.getCompletionTime() == time, what + ": completion " + schedule.getCompletionTime() + " != " + time);
+        checks++;
+    }
+
+    private static int naiveMakespan(Solution solution) {
+        Instance instance = solution.getInstance();
+        int makespan = 0;
+        for (int m = 0; m < solution.getNumberOfMachines(); m++) {
+            Schedule schedule = solution.viewSchedule(m);
+            int time = 0;
+            int prevId = -1;
+            for (int i = 0; i < schedule.getJobCount(); i++) {
+                int jobId = schedule.getJobIdAt(i);
+                int setupStart = Math.max(time, instance.releaseDate(jobId));
+                time = setupStart + instance.setupTime((prevId < 0) ? jobId : prevId, jobId, m)
+                     + instance.processingTime(jobId, m);
+                prevId = jobId;
+            }
+            makespan = Math.max(makespan, time);
+        }
+        return makespan;
+    }
+
+    //échoue même sans -ea
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("ERROR: " + message);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package test;
+
+import domain.*;
+import java.io.*;
+import java.nio.file.*;
+import utils.*;
+
+/**
+ * Lecture des fichiers d'instance texte (InstanceReader / IntTokenizer) :
+ *  - mêmes valeurs que l'ancien lecteur ligne par ligne (gardé ici comme référence) sur les instances
+ *    livrées (resources/) et sur des instances générées
+ *  - blancs quelconques (tabulations, CRLF, lignes vides) acceptés
+ *  - messages d'erreur (ligne, colonne, cause) : token invalide, nombre négatif, dépassement, fin prématurée
+ */
+public class InstanceReaderTest {
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("╔════════════════════════════════════════════════════════════╗");
+        System.out.println("║         TEST - Lecture des instances texte                 ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+
+        Path dir = Files.createTempDirectory("lahc-reader-test");
+        try {
+            //--- TEST 1: instances livrées ---
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get("resources"), "*.txt")) {
+                for (Path file : files) {
+                    compare(readLineBased(file.toString()), InstanceReader.readFromFile(file.toString()), file.toString());
+                    System.out.println("  OK " + file);
+                }
+            }
+
+            //--- TEST 2: instances générées, les deux lecteurs et tous les backends ---
+            for (long seed = 1; seed <= 3; seed++) {
+                Instance original = InstanceReader.createRandomInstance(20 + 10 * (int) seed, 2 + (int) seed, 100, 50, 0.5, seed);
+                Path file = dir.resolve("generated" + seed + ".txt");
+                InstanceConverter.writeText(original, file);
+                compare(original, readLineBased(file.toString()), "line-based " + file.getFileName());
+                for (SetupMatrix.Backend backend : SetupMatrix.Backend.values()) {
+                    compare(original, InstanceReader.readFromFile(file.toString(), backend), backend + " " + file.getFileName());
+                }
+            }
+            System.out.println("  OK generated instances");
+
+            //--- TEST 3: blancs ---
+            Path spaced = write(dir, "2 1\r\n\t0   5\r\n\r\n3\n4\n\n\n0 1\n2\t0\n\n");
+            Instance instance = InstanceReader.readFromFile(spaced.toString());
+            check(instance.releaseDate(1) == 5 && instance.processingTime(1, 0) == 4 && instance.setupTime(1, 0, 0) == 2, "whitespace");
+            System.out.println("  OK whitespace");
+
+            //--- TEST 4: erreurs ---
+            expectError(dir, "2 1\n0 x\n3\n4\n0 1\n2 0\n", 2, 3, "expected release date (non-negative integer), found 'x'");
+            expectError(dir, "2 1\n0 5\n3\n4z\n0 1\n2 0\n", 4, 2, "unexpected character 'z' in processing time");
+            expectError(dir, "2 1\n0 -5\n3\n4\n0 1\n2 0\n", 2, 3, "expected release date (non-negative integer), found '-'");
+            expectError(dir, "2 1\n0 5\n3\n99999999999\n0 1\n2 0\n", 4, 1, "processing time does not fit in an int");
+            expectError(dir, "2 1\n0 5\n3\n4\n0 1\n2", 6, 2, "unexpected end of file, expected setup time");
+            expectError(dir, "2 1\n0 5", 2, 4, "unexpected end of file, expected processing time");
+            expectError(dir, "", 1, 1, "unexpected end of file, expected number of jobs");
+            expectError(dir, "2 1\n0 5\n3\n4\n0 1\n2 0\n7\n", 7, 1, "unexpected data after the last setup matrix");
+            expectError(dir, "0 1\n", 1, 1, "at least one job and one machine");
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(dir);
+        }
+
+        System.out.println("\n=== ALL GOOD 👍===");
+    }
+
+    //le fichier doit être refusé avec une InstanceFormatException à (line, column) dont le message contient expected
+    private static void expectError(Path dir, String content, long line, long column, String expected) throws IOException {
+        Path file = write(dir, content);
+        try {
+            InstanceReader.readFromFile(file.toString());
+        } catch (InstanceFormatException e) {
+            check(e.getMessage().contains(expected), "expected '" + expected + "', got '" + e.getMessage() + "'");
+            check(e.getLine() == line && e.getColumn() == column,
+                  "expected " + line + ":" + column + ", got " + e.getLine() + ":" + e.getColumn() + " (" + e.getMessage() + ")");
+            System.out.println("    rejected: " + e.getMessage().substring(e.getMessage().indexOf(':') + 1));
+            return;
+        }
+        throw new AssertionError("ERROR: accepted a malformed file, expected '" + expected + "'");
+    }
+
+    private static Path write(Path dir, String content) throws IOException {
+        Path file = dir.resolve("instance.txt");
+        Files.write(file, content.getBytes("US-ASCII"));
+        return file;
+    }
+
+    //ancien lecteur (BufferedReader + split), référence pour les fichiers au format exact de writeText
+    private static Instance readLineBased(String filename) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+            String[] dims = reader.readLine().trim().split("\\s+");
+            int numJobs = Integer.parseInt(dims[0]);
+            int numMachines = Integer.parseInt(dims[1]);
+
+            String[] rdates = reader.readLine().trim().split("\\s+");
+            int[] releaseDates = new int[numJobs];
+            for (int i = 0; i < numJobs; i++) {
+                releaseDates[i] = Integer.parseInt(rdates[i]);
+            }
+
+            Instance instance = new Instance(numJobs, numMachines, releaseDates);
+            for (int j = 0; j < numJobs; j++) {
+                String[] times = reader.readLine().trim().split("\\s+");
+                for (int m = 0; m < numMachines; m++) {
+                    instance.setProcessingTime(j, m, Integer.parseInt(times[m]));
+                }
+            }
+            for (int m = 0; m < numMachines; m++) {
+                reader.readLine(); //ligne vide entre les matrices
+                for (int i = 0; i < numJobs; i++) {
+                    String[] times = reader.readLine().trim().split("\\s+");
+                    for (int j = 0; j < numJobs; j++) {
+                        instance.setSetupTime(i, j, m, Integer.parseInt(times[j]));
+                    }
+                }
+            }
+            return instance;
+        }
+    }
+
+    private static void compare(Instance expected, Instance actual, String what) {
+        int n = expected.getNumberOfJobs();
+        int m = expected.getNumberOfMachines();
+        check(actual.getNumberOfJobs() == n && actual.getNumberOfMachines() == m, what + ": dimensions");
+        for (int j = 0; j < n; j++) {
+            check(actual.releaseDate(j) == expected.releaseDate(j), what + ": r[" + j + "]");
+            for (int k = 0; k < m; k++) {
+                check(actual.processingTime(j, k) == expected.processingTime(j, k), what + ": p[" + j + "][" + k + "]");
+            }
+        }
+        for (int k = 0; k < m; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    check(actual.setupTime(i, j, k) == expected.setupTime(i, j, k), what + ": s[" + i + "][" + j + "][" + k + "]");
+                }
+            }
+        }
+    }
+
+    //échoue même sans -ea
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("ERROR: " + message);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package test;
+
+import domain.*;
+import java.util.*;
+import solution.*;
+import utils.*;
+
+/**
+ * Vérifie les évaluations en lecture seule (Solution.evaluateSwap / evaluateInsert, et les
+ * Schedule.completionAfter* derrière) : pour chaque mouvement possible, on compare avec le mouvement
+ * réellement appliqué sur une copie, les completion times étant recalculés naïvement depuis la séquence.
+ * Une divergence ici fausserait toutes les décisions de la recherche locale.
+ *
+ * Instances aléatoires à graine fixe, avec release dates et setups, et une machine vide
+ * (insertion sur machine vide, insertion en fin de séquence).
+ */
+public class MoveEvaluationTest {
+    private static long checks = 0;
+
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════════════════════════╗");
+        System.out.println("║         TEST - Évaluation des mouvements                   ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+
+        for (long seed = 1; seed <= 5; seed++) {
+            Instance instance = InstanceReader.createRandomInstance(12, 4, 50, 20, 0.5, seed);
+            Solution solution = createSolutionWithEmptyMachine(instance, seed);
+
+            System.out.println("Instance " + seed + ":");
+            printSolution(solution);
+
+            testSwaps(solution);
+            testInserts(solution);
+        }
+
+        System.out.println("\n" + checks + " mouvements vérifiés");
+        System.out.println("=== ALL GOOD 👍===");
+    }
+
+    //jobs répartis au hasard sur les machines 0..m-2, la dernière reste vide
+    private static Solution createSolutionWithEmptyMachine(Instance instance, long seed) {
+        Random random = new Random(seed);
+        Solution solution = new Solution(instance);
+        for (int j = 0; j < instance.getNumberOfJobs(); j++) {
+            int machine = random.nextInt(instance.getNumberOfMachines() - 1);
+            solution.getSchedule(machine).addJob(instance.getJob(j));
+        }
+        solution.calculateMakespan();
+        return solution;
+    }
+
+    //tous les swaps (m1, p1) <-> (m2, p2), internes et externes
+    private static void testSwaps(Solution solution) {
+        int m = solution.getNumberOfMachines();
+        for (int m1 = 0; m1 < m; m1++) {
+            for (int p1 = 0; p1 < solution.viewSchedule(m1).getJobCount(); p1++) {
+                for (int m2 = m1; m2 < m; m2++) {
+                    for (int p2 = (m2 == m1) ? p1 + 1 : 0; p2 < solution.viewSchedule(m2).getJobCount(); p2++) {
+                        String move = "swap (" + m1 + "," + p1 + ")<->(" + m2 + "," + p2 + ")";
+                        MoveEvaluation eval = solution.evaluateSwap(m1, p1, m2, p2);
+                        checkUnchanged(solution, move);
+
+                        Solution applied = solution.copy();
+                        if (m1 == m2) {
+                            applied.getSchedule(m1).swapJobs(p1, p2);
+                        } else {
+                            Job job1 = applied.getSchedule(m1).removeJobAt(p1);
+                            Job job2 = applied.getSchedule(m2).removeJobAt(p2);
+                            applied.getSchedule(m1).addJob(job2, p1);
+                            applied.getSchedule(m2).addJob(job1, p2);
+                        }
+                        applied.calculateMakespan();
+                        checkEvaluation(eval, applied, m1, m2, move);
+                    }
+                }
+            }
+        }
+        System.out.println("  OK swaps");
+    }
+
+    //tous les déplacements (from, fromPos) -> (to, toPos), y compris vers la machine vide et en fin de séquence
+    private static void testInserts(Solution solution) {
+        int m = solution.getNumberOfMachines();
+        for (int from = 0; from < m; from++) {
+            for (int fromPos = 0; fromPos < solution.viewSchedule(from).getJobCount(); fromPos++) {
+                for (int to = 0; to < m; to++) {
+                    //même machine : position dans la séquence sans le job (removeJobAt puis addJob)
+                    int positions = solution.viewSchedule(to).getJobCount() + ((from == to) ? 0 : 1);
+                    for (int toPos = 0; toPos < positions; toPos++) {
+                        String move = "insert (" + from + "," + fromPos + ")->(" + to + "," + toPos + ")";
+                        MoveEvaluation eval = solution.evaluateInsert(from, fromPos, to, toPos);
+                        checkUnchanged(solution, move);
+
+                        Solution applied = solution.copy();
+                        Job job = applied.getSchedule(from).removeJobAt(fromPos);
+                        applied.getSchedule(to).addJob(job, toPos);
+                        applied.calculateMakespan();
+                        checkEvaluation(eval, applied, from, to, move);
+                    }
+                }
+            }
+        }
+        System.out.println("  OK insertions");
+    }
+
+    //évaluation == mouvement appliqué, completion times recalculés depuis zéro
+    private static void checkEvaluation(MoveEvaluation eval, Solution applied, int machine1, int machine2, String move) {
+        int completion1 = naiveCompletion(applied, machine1);
+        int completion2 = naiveCompletion(applied, machine2);
+        int makespan = 0;
+        for (int k = 0; k < applied.getNumberOfMachines(); k++) {
+            makespan = Math.max(makespan, naiveCompletion(applied, k));
+        }
+        check(eval.machine1 == machine1 && eval.machine2 == machine2, move + ": wrong machines");
+        check(eval.completion1 == completion1, move + ": completion1 " + eval.completion1 + " != " + completion1);
+        check(eval.completion2 == completion2, move + ": completion2 " + eval.completion2 + " != " + completion2);
+        check(eval.makespan == makespan, move + ": makespan " + eval.makespan + " != " + makespan);
+        check(applied.getMakespan() == makespan, move + ": applied makespan " + applied.getMakespan() + " != " + makespan);
+        checks++;
+    }
+
+    //l'évaluation ne doit rien modifier
+    private static void checkUnchanged(Solution solution, String move) {
+        int makespan = 0;
+        for (int k = 0; k < solution.getNumberOfMachines(); k++) {
+            int completion = naiveCompletion(solution, k);
+            check(solution.viewSchedule(k).getCompletionTime() == completion, move + ": M" + k + " modified");
+            makespan = Math.max(makespan, completion);
+        }
+        check(solution.getMakespan() == makespan, move + ": makespan modified");
+    }
+
+    //completion time recalculé depuis la séquence, sans les caches de Schedule :
+    //le setup commence après la fin du job précédent et la release date, setup initial = diagonale
+    private static int naiveCompletion(Solution solution, int machine) {
+        Schedule schedule = solution.viewSchedule(machine);
+        Instance instance = solution.getInstance();
+        int time = 0;
+        int prevId = -1;
+        for (int i = 0; i < schedule.getJobCount(); i++) {
+            int jobId = schedule.getJobIdAt(i);
+            int setupStart = Math.max(time, instance.releaseDate(jobId));
+            time = setupStart + instance.setupTime((prevId < 0) ? jobId : prevId, jobId, machine)
+                 + instance.processingTime(jobId, machine);
+            prevId = jobId;
+        }
+        return time;
+    }
+
+    //échoue même sans -ea
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("ERROR: " + message);
+        }
+    }
+
+    private static void printSolution(Solution sol) {
+        System.out.println("  Makespan: " + sol.getMakespan());
+        for (int m = 0; m < sol.getNumberOfMachines(); m++) {
+            Schedule s = sol.viewSchedule(m);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < s.getJobCount(); i++) {
+                sb.append((i == 0) ? "" : " ").append(s.getJobIdAt(i));
+            }
+            System.out.println("  M" + m + " (C=" + s.getCompletionTime() + "): [" + sb + "]");
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package test;
+
+import algo.neighborhood.*;
+import domain.*;
+import java.util.*;
+import solution.*;
+import utils.*;
+
+/**
+ * Mouvements appliqués en place puis annulés (SwapMove, InsertMove), comme dans une itération LAHC
+ * refusée : après apply, le makespan doit valoir l'évaluation du mouvement et un recalcul complet ;
+ * après undo, on doit retrouver exactement les séquences, les dates de fin et le makespan de départ.
+ * Tous les mouvements possibles sur de petites instances (avec une machine vide), puis des suites de
+ * tirages des opérateurs RandomInternalSwap / RandomExternalSwap / RandomInsert, dont certains gardés.
+ */
+public class MoveUndoTest {
+    private static long checks = 0;
+
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════════════════════════╗");
+        System.out.println("║         TEST - Apply / undo des mouvements                 ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+
+        //--- TEST 1: tous les swaps et toutes les insertions ---
+        for (long seed = 1; seed <= 3; seed++) {
+            Instance instance = InstanceReader.createRandomInstance(10, 4, 50, 20, 0.5, seed);
+            Solution solution = createSolutionWithEmptyMachine(instance, seed);
+            testAllSwaps(solution);
+            testAllInserts(solution);
+        }
+        System.out.println("  OK every swap and insertion, " + checks + " moves");
+
+        //--- TEST 2: tirages des opérateurs, mouvements gardés ou annulés ---
+        checks = 0;
+        for (long seed = 1; seed <= 3; seed++) {
+            Instance instance = InstanceReader.createRandomInstance(30, 5, 100, 30, 0.5, seed);
+            Solution solution = createSolutionWithEmptyMachine(instance, seed);
+            testOperators(solution, seed);
+        }
+        System.out.println("  OK operator draws, " + checks + " moves");
+
+        //--- TEST 3: cas limites de RandomInsert ---
+        testInsertEdgeCases();
+        System.out.println("  OK RandomInsert edge cases");
+
+        System.out.println("\n=== ALL GOOD 👍===");
+    }
+
+    //jobs répartis au hasard sur les machines 0..m-2, la dernière reste vide
+    private static Solution createSolutionWithEmptyMachine(Instance instance, long seed) {
+        Random random = new Random(seed);
+        Solution solution = new Solution(instance);
+        for (int j = 0; j < instance.getNumberOfJobs(); j++) {
+            solution.getSchedule(random.nextInt(instance.getNumberOfMachines() - 1)).addJob(instance.getJob(j));
+        }
+        solution.calculateMakespan();
+        return solution;
+    }
+
+    private static void testAllSwaps(Solution solution) {
+        int m = solution.getNumberOfMachines();
+        for (int m1 = 0; m1 < m; m1++) {
+            for (int p1 = 0; p1 < solution.viewSchedule(m1).getJobCount(); p1++) {
+                for (int m2 = m1; m2 < m; m2++) {
+                    for (int p2 = (m2 == m1) ? p1 + 1 : 0; p2 < solution.viewSchedule(m2).getJobCount(); p2++) {
+                        roundTrip(solution, new SwapMove(m1, p1, m2, p2));
+                    }
+                }
+            }
+        }
+    }
+
+    //toPos dans la séquence d'arrivée sans le job, cf InsertMove
+    private static void testAllInserts(Solution solution) {
+        int m = solution.getNumberOfMachines();
+        for (int from = 0; from < m; from++) {
+            for (int fromPos = 0; fromPos < solution.viewSchedule(from).getJobCount(); fromPos++) {
+                for (int to = 0; to < m; to++) {
+                    int positions = solution.viewSchedule(to).getJobCount() + ((from == to) ? 0 : 1);
+                    for (int toPos = 0; toPos < positions; toPos++) {
+                        roundTrip(solution, new InsertMove(from, fromPos, to, toPos));
+                    }
+                }
+            }
+        }
+    }
+
+    //apply : évaluation == résultat ; undo : retour exact à l'état de départ
+    private static void roundTrip(Solution solution, Move move) {
+        Snapshot before = new Snapshot(solution);
+        MoveEvaluation eval = move.evaluate(solution);
+        before.check(solution, move + " evaluate");
+
+        move.apply(solution);
+        int makespan = naiveMakespan(solution);
+        check(solution.getMakespan() == makespan, move + ": makespan " + solution.getMakespan() + " != " + makespan);
+        check(eval.makespan == makespan, move + ": evaluated " + eval.makespan + " != applied " + makespan);
+        check(solution.viewSchedule(eval.machine1).getCompletionTime() == eval.completion1, move + ": completion1");
+        check(solution.viewSchedule(eval.machine2).getCompletionTime() == eval.completion2, move + ": completion2");
+
+        move.undo(solution);
+        before.check(solution, move + " undo");
+        check(solution.getMakespan() == naiveMakespan(solution), move + ": makespan after undo");
+        checks++;
+    }
+
+    //comme LAHC : propose sur la solution courante, applique, garde un mouvement sur trois, annule les autres
+    private static void testOperators(Solution solution, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        NeighborhoodOperator[] operators = {
+            new RandomInternalSwap(random.split()), new RandomExternalSwap(random.split()), new RandomInsert(random.split())
+        };
+        int jobs = solution.getInstance().getNumberOfJobs();
+        for (int i = 0; i < 3000; i++) {
+            Move move = operators[i % operators.length].propose(solution);
+            check(move != null, "no move proposed");
+            if (random.nextInt(3) == 0) {
+                int evaluated = move.evaluate(solution).makespan;
+                move.apply(solution);
+                check(solution.getMakespan() == evaluated && evaluated == naiveMakespan(solution), move + ": kept move");
+                checks++;
+            } else {
+                roundTrip(solution, move);
+            }
+        }
+        //aucun job perdu ou dupliqué
+        boolean[] seen = new boolean[jobs];
+        int count = 0;
+        for (int m = 0; m < solution.getNumberOfMachines(); m++) {
+            Schedule schedule = solution.viewSchedule(m);
+            for (int p = 0; p < schedule.getJobCount(); p++) {
+                check(!seen[schedule.getJobIdAt(p)], "job " + schedule.getJobIdAt(p) + " scheduled twice");
+                seen[schedule.getJobIdAt(p)] = true;
+                count++;
+            }
+        }
+        check(count == jobs, count + " jobs scheduled instead of " + jobs);
+    }
+
+    private static void testInsertEdgeCases() {
+        //une seule machine et un seul job : aucun déplacement possible
+        Instance single = InstanceReader.createRandomInstance(1, 1, 10, 5, 0.5, 1L);
+        Solution solution = new Solution(single);
+        RandomInsert operator = new RandomInsert(1L);
+        check(operator.propose(solution) == null, "move proposed on an empty solution");
+        solution.getSchedule(0).addJob(single.getJob(0));
+        solution.calculateMakespan();
+        check(operator.propose(solution) == null, "move proposed with a single job on a single machine");
+
+        //un seul job sur deux machines : il change forcément de machine
+        Instance two = InstanceReader.createRandomInstance(1, 2, 10, 5, 0.5, 2L);
+        solution = new Solution(two);
+        solution.getSchedule(0).addJob(two.getJob(0));
+        solution.calculateMakespan();
+        for (int i = 0; i < 20; i++) {
+            Move move = operator.propose(solution);
+            check(move != null, "no move with a job and an empty machine");
+            roundTrip(solution, move);
+            move.apply(solution);
+        }
+
+        //une machine, plusieurs jobs : jamais de mouvement vers la même position
+        Instance line = InstanceReader.createRandomInstance(5, 1, 10, 5, 0.5, 3L);
+        solution = new Solution(line);
+        for (int j = 0; j < 5; j++) {
+            solution.getSchedule(0).addJob(line.getJob(j));
+        }
+        solution.calculateMakespan();
+        for (int i = 0; i < 50; i++) {
+            Move move = operator.propose(solution);
+            Snapshot before = new Snapshot(solution);
+            move.apply(solution);
+            check(!new Snapshot(solution).sequences.equals(before.sequences), move + ": no-op move");
+            move.undo(solution);
+            before.check(solution, move + " undo");
+        }
+    }
+
+    //completion times recalculés depuis la séquence, sans les caches de Schedule
+    private static int naiveMakespan(Solution solution) {
+        Instance instance = solution.getInstance();
+        int makespan = 0;
+        for (int m = 0; m < solution.getNumberOfMachines(); m++) {
+            Schedule schedule = solution.viewSchedule(m);
+            int time = 0;
+            int prevId = -1;
+            for (int i = 0; i < schedule.getJobCount(); i++) {
+                int jobId = schedule.getJobIdAt(i);
+                int setupStart = Math.max(time, instance.releaseDate(jobId));
+                time = setupStart + instance.setupTime((prevId < 0) ? jobId : prevId, jobId, m)
+                     + instance.processingTime(jobId, m);
+                prevId = jobId;
+            }
+            check(schedule.getCompletionTime() == time, "M" + m + " completion " + schedule.getCompletionTime() + " != " + time);
+            makespan = Math.max(makespan, time);
+        }
+        return makespan;
+    }
+
+    //séquences, dates de fin et makespan d'une solution
+    private static final class Snapshot {
+        private final List<List<Integer>> sequences = new ArrayList<>();
+        private final List<List<Integer>> ends = new ArrayList<>();
+        private final int makespan;
+
+        Snapshot(Solution solution) {
+            for (int m = 0; m < solution.getNumberOfMachines(); m++) {
+                Schedule schedule = solution.viewSchedule(m);
+                List<Integer> sequence = new ArrayList<>();
+                List<Integer> end = new ArrayList<>();
+                for (int i = 0; i < schedule.getJobCount(); i++) {
+                    sequence.add(schedule.getJobIdAt(i));
+                    end.add(schedule.getEndTimeAt(i));
+                }
+                sequences.add(sequence);
+                ends.add(end);
+            }
+            makespan = solution.getMakespan();
+        }
+
+        void check(Solution solution, String what) {
+            Snapshot now = new Snapshot(solution);
+            MoveUndoTest.check(now.sequences.equals(sequences), what + ": sequences " + now.sequences + " != " + sequences);
+            MoveUndoTest.check(now.ends.equals(ends), what + ": end times changed");
+            MoveUndoTest.check(now.makespan == makespan, what + ": makespan " + now.makespan + " != " + makespan);
+        }
+    }
+
+    //échoue même sans -ea
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("ERROR: " + message);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package test;
+
+import algo.heuristic.*;
+import algo.metaheuristic.*;
+import domain.*;
+import java.util.*;
+import java.util.concurrent.*;
+import solution.*;
+import utils.*;
+
+/**
+ * Déterminisme du multi-start (ParallelLAHC) : avec une graine fixe et un budget en itérations (pas
+ * de limite de temps), chaque worker doit donner exactement le même résultat quel que soit
+ * l'ordonnancement des threads (pool dédié, un seul thread, 2 threads, un thread par worker démarré
+ * avec un retard aléatoire), et le même que la recherche LAHC seule lancée sur son flux (split).
+ * La meilleure solution retenue doit donc être la même, à égalité le plus petit indice de worker.
+ */
+public class ParallelLAHCTest {
+    private static final int WORKERS = 4;
+    private static final int HISTORY = 30;
+    private static final long SEED = 2024L;
+
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════════════════════════╗");
+        System.out.println("║         TEST - ParallelLAHC déterministe                   ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+
+        Instance instance = InstanceReader.createRandomInstance(40, 4, 100, 30, 0.5, 5L);
+        SearchBudget budget = SearchBudget.unlimited().withMaxIterations(300);
+
+        //--- TEST 1: référence, chaque worker rejoué seul sur son flux ---
+        List<Result> reference = new ArrayList<>();
+        SplittableRandom streams = new SplittableRandom(SEED);
+        for (int w = 0; w < WORKERS; w++) {
+            LAHCMetaheuristic lahc = new LAHCMetaheuristic(new BIBAHeuristic(), HISTORY, streams.split());
+            lahc.setBudget(budget);
+            Solution solution = lahc.solve(instance);
+            reference.add(new Result(solution, lahc.getBestMakespan(), lahc.getIterationCount(), lahc.getLastImprovementIteration()));
+            System.out.println("  worker " + w + ": " + lahc.getInitialMakespan() + " -> " + lahc.getBestMakespan()
+                               + " (last improvement " + lahc.getLastImprovementIteration() + ")");
+        }
+        Solution expectedBest = reference.get(0).solution;
+        for (Result result : reference) {
+            if (result.bestMakespan < expectedBest.getMakespan()) {
+                expectedBest = result.solution;
+            }
+        }
+
+        //--- TEST 2: mêmes résultats quel que soit l'ordonnancement ---
+        compare(run(instance, budget, null), reference, expectedBest, "own pool");
+
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        ExecutorService two = Executors.newFixedThreadPool(2);
+        try {
+            compare(run(instance, budget, single), reference, expectedBest, "1 thread");
+            compare(run(instance, budget, two), reference, expectedBest, "2 threads");
+        } finally {
+            single.shutdownNow();
+            two.shutdownNow();
+        }
+        for (long delaySeed = 1; delaySeed <= 3; delaySeed++) {
+            compare(run(instance, budget, delayedThreads(delaySeed)), reference, expectedBest, "delayed threads " + delaySeed);
+        }
+        compare(run(instance, budget, ForkJoinPool.commonPool()), reference, expectedBest, "common pool");
+
+        System.out.println("\n=== ALL GOOD 👍===");
+    }
+
+    private static ParallelLAHC run(Instance instance, SearchBudget budget, Executor executor) {
+        ParallelLAHC parallel = new ParallelLAHC(new BIBAHeuristic(), WORKERS, HISTORY, SEED);
+        parallel.setBudget(budget);
+        parallel.setExecutor(executor);
+        parallel.solve(instance);
+        return parallel;
+    }
+
+    //un thread par worker, démarré après un retard aléatoire => les workers se terminent dans un autre ordre
+    private static Executor delayedThreads(long seed) {
+        Random random = new Random(seed);
+        return task -> {
+            long delay = random.nextInt(40);
+            Thread thread = new Thread(() -> {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                task.run();
+            });
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    private static void compare(ParallelLAHC parallel, List<Result> reference, Solution expectedBest, String what) {
+        List<ParallelLAHC.WorkerStats> stats = parallel.getWorkerStats();
+        check(stats.size() == WORKERS, what + ": " + stats.size() + " workers");
+        for (int w = 0; w < WORKERS; w++) {
+            ParallelLAHC.WorkerStats worker = stats.get(w);
+            Result expected = reference.get(w);
+            check(worker.worker == w, what + ": stats out of order");
+            check(worker.bestMakespan == expected.bestMakespan, what + ": worker " + w + " best " + worker.bestMakespan + " != " + expected.bestMakespan);
+            check(worker.iterations == expected.iterations, what + ": worker " + w + " iterations");
+            check(worker.lastImprovementIteration == expected.lastImprovementIteration, what + ": worker " + w + " last improvement");
+            check(sequences(worker.solution).equals(sequences(expected.solution)), what + ": worker " + w + " solution");
+        }
+        check(sequences(parallel.getBestSolution()).equals(sequences(expectedBest)), what + ": overall best solution");
+        check(parallel.getBestSolution().getMakespan() == expectedBest.getMakespan(), what + ": overall best makespan");
+        System.out.println("  OK " + what + ", best " + parallel.getBestSolution().getMakespan());
+    }
+
+    private static List<List<Integer>> sequences(Solution solution) {
+        List<List<Integer>> sequences = new ArrayList<>();
+        for (int m = 0; m < solution.getNumberOfMachines(); m++) {
+            Schedule schedule = solution.viewSchedule(m);
+            List<Integer> sequence = new ArrayList<>();
+            for (int i = 0; i < schedule.getJobCount(); i++) {
+                sequence.add(schedule.getJobIdAt(i));
+            }
+            sequences.add(sequence);
+        }
+        return sequences;
+    }
+
+    private static final class Result {
+        final Solution solution;
+        final int bestMakespan;
+        final int iterations;
+        final int lastImprovementIteration;
+
+        Result(Solution solution, int bestMakespan, int iterations, int lastImprovementIteration) {
+            this.solution = solution;
+            this.bestMakespan = bestMakespan;
+            this.iterations = iterations;
+            this.lastImprovementIteration = lastImprovementIteration;
+        }
+    }
+
+    //échoue même sans -ea
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("ERROR: " + message);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package test;
+
+import algo.heuristic.*;
+import algo.localsearch.*;
+import domain.*;
+import java.util.*;
+import java.util.concurrent.*;
+import solution.*;
+import utils.*;
+
+/**
+ * Parcours parallèle des candidats de la recherche locale (LocalSearch.setParallelism, CandidateScan) :
+ * sur les mêmes instances à graine fixe, la recherche avec un ForkJoinPool doit donner exactement la
+ * même solution (séquences) et le même nombre d'évaluations que le parcours séquentiel, pour plusieurs
+ * seuils de découpage (1 => tâches d'un seul candidat) et avec des égalités de makespan fréquentes.
+ */
+public class ParallelScanTest {
+
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════════════════════════╗");
+        System.out.println("║         TEST - Recherche locale parallèle                  ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int runs = 0;
+            for (long seed = 1; seed <= 4; seed++) {
+                Instance instance = InstanceReader.createRandomInstance(30 + 10 * (int) seed, 3 + (int) seed, 100, 30, 0.5, seed);
+                //petits temps => beaucoup d'égalités, départagées par l'indice du candidat
+                Instance ties = InstanceReader.createRandomInstance(40, 4, 3, 2, 0.5, seed);
+                for (Instance current : new Instance[] { instance, ties }) {
+                    List<Solution> starts = Arrays.asList(new BIBAHeuristic().buildInitialSolution(current),
+                                                          randomSolution(current, seed));
+                    for (Solution start : starts) {
+                        for (String strategy : new String[] { "BEST", "SAMPLE_16" }) {
+                            for (int candidates : new int[] { 0, 3 }) {
+                                for (int threshold : new int[] { 1, 2, 7, 64 }) {
+                                    compare(start, strategy, candidates, pool, threshold, seed);
+                                    runs++;
+                                }
+                            }
+                        }
+                    }
+                }
+                System.out.println("  OK seed " + seed);
+            }
+            System.out.println("  " + runs + " parallel searches identical to the sequential ones");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        System.out.println("\n=== ALL GOOD 👍===");
+    }
+
+    private static void compare(Solution start, String strategy, int candidates, ForkJoinPool pool, int threshold, long seed) {
+        String what = strategy + ", candidate lists " + candidates + ", threshold " + threshold + ", seed " + seed;
+
+        LocalSearch sequential = createLocalSearch(strategy, candidates, seed);
+        Solution expected = sequential.improve(start);
+
+        LocalSearch parallel = createLocalSearch(strategy, candidates, seed);
+        parallel.setParallelism(pool, threshold);
+        Solution actual = parallel.improve(start);
+
+        check(sequences(actual).equals(sequences(expected)), what + ": solutions differ");
+        check(actual.getMakespan() == expected.getMakespan(), what + ": makespan " + actual.getMakespan() + " != " + expected.getMakespan());
+        check(parallel.getEvaluationCount() == sequential.getEvaluationCount(),
+              what + ": evaluations " + parallel.getEvaluationCount() + " != " + sequential.getEvaluationCount());
+        check(actual.getMakespan() <= start.getMakespan(), what + ": worse than the start");
+    }
+
+    private static LocalSearch createLocalSearch(String strategy, int candidates, long seed) {
+        LocalSearch localSearch = new LocalSearch(seed);
+        localSearch.setScanStrategy(ScanStrategy.parse(strategy));
+        localSearch.setCandidateListSize(candidates);
+        return localSearch;
+    }
+
+    //jobs répartis au hasard => loin d'un optimum local, beaucoup de passes
+    private static Solution randomSolution(Instance instance, long seed) {
+        Random random = new Random(seed);
+        Solution solution = new Solution(instance);
+        for (int j = 0; j < instance.getNumberOfJobs(); j++) {
+            solution.getSchedule(random.nextInt(instance.getNumberOfMachines())).addJob(instance.getJob(j));
+        }
+        solution.calculateMakespan();
+        return solution;
+    }
+
+    private static List<List<Integer>> sequences(Solution solution) {
+        List<List<Integer>> sequences = new ArrayList<>();
+        for (int m = 0; m < solution.getNumberOfMachines(); m++) {
+            Schedule schedule = solution.viewSchedule(m);
+            List<Integer> sequence = new ArrayList<>();
+            for (int i = 0; i < schedule.getJobCount(); i++) {
+                sequence.add(schedule.getJobIdAt(i));
+            }
+            sequences.add(sequence);
+        }
+        return sequences;
+    }
+
+    //échoue même sans -ea
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("ERROR: " + message);
+        }
+    }
+}
@@ -2,11 +2,19 @@
 rm -rf bin
 
 #exec
-javac -d bin $(find . -name "*.java")
+javac -d bin $(find . -path ./bench -prune -o -name "*.java" -print)
 
 #run
 # java -cp bin test.SwapTest
 # java -cp bin test.LocalSearchTest
+# java -cp bin test.MoveEvaluationTest
+# java -cp bin test.BinaryInstanceTest
+# java -cp bin test.InstanceReaderTest
+# java -cp bin test.CopyOnWriteTest
+# java -cp bin test.MoveUndoTest
+# java -cp bin test.ParallelLAHCTest
+# java -cp bin test.ParallelScanTest
+# java -cp bin test.IncrementalScheduleTest
 # java -cp bin test.BibaTest
 # java -cp bin test.LAHCTest 
 java -cp bin test.BenchmarkTest
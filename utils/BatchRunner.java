@@ -0,0 +1,225 @@
+package utils;
+
+import algo.heuristic.*;
+import algo.metaheuristic.*;
+import algo.metrics.*;
+import domain.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.Consumer;
+
+/**
+ * Exécute un balayage d'instances aléatoires (Sweep) : chaque combinaison (n, m, graine, réplication)
+ * est un run LAHC indépendant, mono-thread, lancé sur un pool borné de numThreads threads.
+ *
+ * Les instances sont générées dans le thread du run (jamais toutes en mémoire en même temps) et
+ * chaque Result est envoyé au fur et à mesure au CsvResultWriter (un seul thread d'écriture).
+ *
+ * Java ne permet pas d'épingler un thread sur un cœur : numThreads est le seul levier. Avec un budget
+ * en temps, garder numThreads <= nombre de cœurs libres, sinon les runs se partagent le CPU et font
+ * moins d'itérations que dans le papier.
+ */
+public class BatchRunner {
+    private final int numThreads;
+    private Consumer<Result> onResult = r -> { }; //appelé depuis les threads de calcul
+    private SearchMetrics metrics; //partagé par tous les runs, null => pas de mesures
+
+    //un thread par cœur par défaut
+    public BatchRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchRunner(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    //progression (affichage...), doit être thread-safe
+    public void setOnResult(Consumer<Result> onResult) {
+        this.onResult = (onResult == null) ? r -> { } : onResult;
+    }
+
+    //compteurs par opérateur cumulés sur tout le balayage (cf SearchMetrics.writeCsv)
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    //résultats triés par run_id, le CSV (optionnel) est dans l'ordre de fin des runs
+    public List<Result> run(Sweep sweep, CsvResultWriter csv) {
+        List<int[]> runs = sweep.runs();
+        ThreadFactory factory = new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "batch-" + count.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            }
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(numThreads, Math.max(1, runs.size())), factory);
+
+        List<Future<Result>> futures = new ArrayList<>(runs.size());
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                int runId = i + 1;
+                int[] run = runs.get(i);
+                futures.add(pool.submit(() -> {
+                    Result result = runOne(sweep, runId, run[0], run[1], sweep.seeds[run[2]], run[3], metrics);
+                    if (csv != null) {
+                        csv.write(result);
+                    }
+                    onResult.accept(result);
+                    return result;
+                }));
+            }
+
+            List<Result> results = new ArrayList<>(runs.size());
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A run of the sweep failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted sweep", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    //un run : instance (n, m, graine) puis LAHC avec sa propre graine, dérivée de la réplication
+    static Result runOne(Sweep sweep, int runId, int numJobs, int numMachines, long seed, int replication,
+                         SearchMetrics metrics) {
+        Instance instance = InstanceReader.createRandomInstance(numJobs, numMachines, sweep.maxProcessingTime,
+                                                                sweep.maxSetupTime, sweep.releaseFactor, seed);
+        LAHCMetaheuristic lahc = new LAHCMetaheuristic(new BIBAHeuristic(), sweep.historyLength,
+                                                       runSeed(seed, replication));
+        if (sweep.budget != null) {
+            lahc.setBudget(sweep.budget);
+        }
+        lahc.setMetrics(metrics);
+        lahc.solve(instance);
+
+        String name = String.format("n%d_m%d_s%d", numJobs, numMachines, seed);
+        return new Result(runId, name, numJobs, numMachines, seed, replication,
+                          lahc.getInitialMakespan(), lahc.getBestMakespan(), lahc.getIterationCount(),
+                          lahc.getLastImprovementIteration(), lahc.getEvaluationCount(),
+                          lahc.getConstructionTimeNanos(), lahc.getSearchTimeNanos(), lahc.getStopReason().name());
+    }
+
+    //même (graine, réplication) => même run, quel que soit le thread ou l'ordre d'exécution
+    static long runSeed(long seed, int replication) {
+        return seed * 0x9E3779B97F4A7C15L + replication;
+    }
+
+    /**
+     * Description d'un balayage : plages de n et de m (bornes incluses, avec un pas), graines d'instance,
+     * nombre de réplications par instance et budget de chaque run.
+     * Immutable, comme SearchBudget : on part de Sweep.of(...) et on enchaîne les with*.
+     */
+    public static final class Sweep {
+        private final int minJobs, maxJobs, jobStep;
+        private final int minMachines, maxMachines, machineStep;
+        private final long[] seeds;
+        private final int replications;
+        private final SearchBudget budget; //null => budget par défaut de LAHC (papier)
+        private final int historyLength;
+        private final int maxProcessingTime;
+        private final int maxSetupTime;
+        private final double releaseFactor;
+
+        private Sweep(int minJobs, int maxJobs, int jobStep, int minMachines, int maxMachines, int machineStep,
+                      long[] seeds, int replications, SearchBudget budget, int historyLength,
+                      int maxProcessingTime, int maxSetupTime, double releaseFactor) {
+            if (minJobs < 1 || maxJobs < minJobs || minMachines < 1 || maxMachines < minMachines) {
+                throw new IllegalArgumentException("Invalid ranges: jobs " + minJobs + ".." + maxJobs
+                                                 + ", machines " + minMachines + ".." + maxMachines);
+            }
+            if (seeds.length == 0 || replications < 1) {
+                throw new IllegalArgumentException("At least one seed and one replication are needed");
+            }
+            this.minJobs = minJobs;
+            this.maxJobs = maxJobs;
+            this.jobStep = Math.max(1, jobStep);
+            this.minMachines = minMachines;
+            this.maxMachines = maxMachines;
+            this.machineStep = Math.max(1, machineStep);
+            this.seeds = seeds;
+            this.replications = replications;
+            this.budget = budget;
+            this.historyLength = historyLength;
+            this.maxProcessingTime = maxProcessingTime;
+            this.maxSetupTime = maxSetupTime;
+            this.releaseFactor = releaseFactor;
+        }
+
+        //n dans [minJobs, maxJobs], m dans [minMachines, maxMachines], une graine, une réplication
+        //mêmes paramètres de génération que BenchmarkTest (p <= 10, s <= 5, release 0.5), LH = 30
+        public static Sweep of(int minJobs, int maxJobs, int minMachines, int maxMachines) {
+            return new Sweep(minJobs, maxJobs, 1, minMachines, maxMachines, 1, new long[] {1}, 1,
+                             null, 30, 10, 5, 0.5);
+        }
+
+        public Sweep withSteps(int jobStep, int machineStep) {
+            return new Sweep(minJobs, maxJobs, jobStep, minMachines, maxMachines, machineStep, seeds,
+                             replications, budget, historyLength, maxProcessingTime, maxSetupTime, releaseFactor);
+        }
+
+        public Sweep withSeeds(long... seeds) {
+            return new Sweep(minJobs, maxJobs, jobStep, minMachines, maxMachines, machineStep, seeds.clone(),
+                             replications, budget, historyLength, maxProcessingTime, maxSetupTime, releaseFactor);
+        }
+
+        public Sweep withReplications(int replications) {
+            return new Sweep(minJobs, maxJobs, jobStep, minMachines, maxMachines, machineStep, seeds,
+                             replications, budget, historyLength, maxProcessingTime, maxSetupTime, releaseFactor);
+        }
+
+        public Sweep withBudget(SearchBudget budget) {
+            return new Sweep(minJobs, maxJobs, jobStep, minMachines, maxMachines, machineStep, seeds,
+                             replications, budget, historyLength, maxProcessingTime, maxSetupTime, releaseFactor);
+        }
+
+        public Sweep withHistoryLength(int historyLength) {
+            return new Sweep(minJobs, maxJobs, jobStep, minMachines, maxMachines, machineStep, seeds,
+                             replications, budget, historyLength, maxProcessingTime, maxSetupTime, releaseFactor);
+        }
+
+        public Sweep withGenerator(int maxProcessingTime, int maxSetupTime, double releaseFactor) {
+            return new Sweep(minJobs, maxJobs, jobStep, minMachines, maxMachines, machineStep, seeds,
+                             replications, budget, historyLength, maxProcessingTime, maxSetupTime, releaseFactor);
+        }
+
+        //nombre total de runs
+        public int size() {
+            return ((maxJobs - minJobs) / jobStep + 1) * ((maxMachines - minMachines) / machineStep + 1)
+                 * seeds.length * replications;
+        }
+
+        //{n, m, indice de graine, réplication} dans l'ordre des run_id
+        List<int[]> runs() {
+            List<int[]> runs = new ArrayList<>(size());
+            for (int n = minJobs; n <= maxJobs; n += jobStep) {
+                for (int m = minMachines; m <= maxMachines; m += machineStep) {
+                    for (int s = 0; s < seeds.length; s++) {
+                        for (int r = 0; r < replications; r++) {
+                            runs.add(new int[] {n, m, s, r});
+                        }
+                    }
+                }
+            }
+            return runs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Sweep[n=%d..%d/%d, m=%d..%d/%d, %d seeds x %d replications = %d runs, budget=%s]",
+                                 minJobs, maxJobs, jobStep, minMachines, maxMachines, machineStep,
+                                 seeds.length, replications, size(), (budget == null) ? "paper" : budget);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package utils;
+
+/**
+ * Format binaire des instances (version 1), tout en little-endian :
+ * 
+ *   offset  taille
+ *   0       4       magic "LAHC"
+ *   4       2       version
+ *   6       2       flags (bit 0 : données compressées en deflate/zlib après l'en-tête)
+ *   8       4       n (jobs)
+ *   12      4       m (machines)
+ *   16      1       largeur des cellules de setup : 1, 2 (non signés) ou 4 octets (int)
+ *   17      3       réservé (0)
+ *   20              release dates        n x int32
+ *                   processing times     m x n x int32, machine par machine : [k][j]
+ *                   setup times          m x n x n cellules, machine par machine : [k][i][j]
+ * 
+ * Non compressé, le bloc des setups est à l'offset setupOffset(n, m) et peut être mappé tel quel.
+ */
+final class BinaryInstanceFormat {
+    static final byte[] MAGIC = { 'L', 'A', 'H', 'C' };
+    static final int VERSION = 1;
+    static final int FLAG_DEFLATE = 1;
+    static final int HEADER_BYTES = 20;
+    
+    private BinaryInstanceFormat() {
+    }
+    
+    static long setupOffset(int numJobs, int numMachines) {
+        return HEADER_BYTES + 4L * numJobs + 4L * numJobs * numMachines;
+    }
+    
+    //plus petite largeur (1, 2 ou 4) qui représente value
+    static int widthFor(int value) {
+        if (value >= 0 && value <= 0xFF) return 1;
+        if (value >= 0 && value <= 0xFFFF) return 2;
+        return 4;
+    }
+}
@@ -0,0 +1,164 @@
+package utils;
+
+import domain.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.zip.*;
+
+/**
+ * Charge une instance au format binaire (cf BinaryInstanceFormat).
+ * 
+ * Avec le backend MAPPED et un fichier non compressé, le bloc des setups est mappé tel quel en lecture
+ * seule : rien n'est copié, et une éventuelle écriture (setSetupTime) recopie d'abord la matrice hors heap.
+ * Sinon les setups sont copiés dans le backend demandé.
+ */
+public class BinaryInstanceReader {
+    private static final int CHUNK_BYTES = 1 << 16;
+    
+    public static Instance read(Path path) throws IOException {
+        return read(path, SetupMatrix.Backend.HEAP);
+    }
+    
+    public static Instance read(Path path, SetupMatrix.Backend backend) throws IOException {
+        String name = path.toString();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(BinaryInstanceFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, name, 0);
+            header.flip();
+            
+            for (int i = 0; i < BinaryInstanceFormat.MAGIC.length; i++) {
+                if (header.get() != BinaryInstanceFormat.MAGIC[i]) {
+                    throw new InstanceFormatException(name, i, "not a binary instance file (bad magic)");
+                }
+            }
+            int version = header.getShort() & 0xFFFF;
+            if (version != BinaryInstanceFormat.VERSION) {
+                throw new InstanceFormatException(name, 4, "unsupported format version " + version);
+            }
+            int flags = header.getShort() & 0xFFFF;
+            int n = header.getInt();
+            int m = header.getInt();
+            int width = header.get();
+            if (n <= 0 || m <= 0) {
+                throw new InstanceFormatException(name, 8, "invalid dimensions " + n + " x " + m);
+            }
+            if (width != 1 && width != 2 && width != 4) {
+                throw new InstanceFormatException(name, 16, "invalid setup cell width " + width);
+            }
+            boolean deflate = (flags & BinaryInstanceFormat.FLAG_DEFLATE) != 0;
+            
+            long setupOffset = BinaryInstanceFormat.setupOffset(n, m);
+            long blockBytes = (long) n * n * width;
+            if (!deflate && channel.size() < setupOffset + blockBytes * m) {
+                throw new InstanceFormatException(name, channel.size(), "truncated file, expected "
+                                                  + (setupOffset + blockBytes * m) + " bytes");
+            }
+            
+            InputStream in = Channels.newInputStream(channel);
+            if (deflate) {
+                in = new InflaterInputStream(in);
+            }
+            ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            chunk.flip();
+            Source source = new Source(in, chunk, name, BinaryInstanceFormat.HEADER_BYTES);
+            
+            int[] releaseDates = new int[n];
+            for (int j = 0; j < n; j++) {
+                releaseDates[j] = source.getInt();
+            }
+            int[] processingTimes = new int[n * m];
+            for (int i = 0; i < processingTimes.length; i++) {
+                processingTimes[i] = source.getInt();
+            }
+            
+            SetupMatrix setups;
+            if (backend == SetupMatrix.Backend.MAPPED && !deflate) {
+                //zéro copie : un mapping par machine directement dans le fichier
+                ByteBuffer[] blocks = new ByteBuffer[m];
+                for (int k = 0; k < m; k++) {
+                    blocks[k] = channel.map(FileChannel.MapMode.READ_ONLY, setupOffset + k * blockBytes, blockBytes);
+                }
+                setups = CompactSetupMatrix.wrap(n, m, width, blocks);
+            } else {
+                setups = SetupMatrix.create(backend, n, m);
+                for (int k = 0; k < m; k++) {
+                    for (int i = 0; i < n; i++) {
+                        for (int j = 0; j < n; j++) {
+                            setups.set(i, j, k, source.getCell(width));
+                        }
+                    }
+                }
+            }
+            
+            Instance instance = new Instance(setups, releaseDates);
+            for (int k = 0; k < m; k++) {
+                for (int j = 0; j < n; j++) {
+                    instance.setProcessingTime(j, k, processingTimes[k * n + j]);
+                }
+            }
+            return instance;
+        }
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buffer, String name, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new InstanceFormatException(name, offset + buffer.position(), "unexpected end of file");
+            }
+        }
+    }
+    
+    //lecture séquentielle little-endian par blocs, avec l'offset (dans les données décompressées) pour les erreurs
+    private static final class Source {
+        private final InputStream in;
+        private final ByteBuffer chunk;
+        private final String name;
+        private long offset; //offset du début de chunk
+        
+        Source(InputStream in, ByteBuffer chunk, String name, long offset) {
+            this.in = in;
+            this.chunk = chunk;
+            this.name = name;
+            this.offset = offset;
+        }
+        
+        int getInt() throws IOException {
+            ensure(Integer.BYTES);
+            return chunk.getInt();
+        }
+        
+        int getCell(int width) throws IOException {
+            ensure(width);
+            switch (width) {
+                case 1: return chunk.get() & 0xFF;
+                case 2: return chunk.getShort() & 0xFFFF;
+                default: return chunk.getInt();
+            }
+        }
+        
+        private void ensure(int bytes) throws IOException {
+            if (chunk.remaining() >= bytes) {
+                return;
+            }
+            offset += chunk.position();
+            chunk.compact();
+            try {
+                while (chunk.position() < bytes) {
+                    int read = in.read(chunk.array(), chunk.position(), chunk.remaining());
+                    if (read < 0) {
+                        throw new InstanceFormatException(name, offset + chunk.position(), "unexpected end of data");
+                    }
+                    chunk.position(chunk.position() + read);
+                }
+            } catch (EOFException e) {
+                //flux deflate coupé avant sa fin (InflaterInputStream ne renvoie pas -1 dans ce cas)
+                throw new InstanceFormatException(name, offset + chunk.position(), "unexpected end of data (truncated deflate stream)");
+            } catch (ZipException e) {
+                throw new InstanceFormatException(name, offset + chunk.position(), "corrupted deflate data: " + e.getMessage());
+            }
+            chunk.flip();
+        }
+    }
+}
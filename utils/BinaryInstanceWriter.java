@@ -0,0 +1,100 @@
+package utils;
+
+import domain.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.zip.*;
+
+/**
+ * Écrit une instance au format binaire (cf BinaryInstanceFormat).
+ * La largeur des cellules de setup est la plus petite qui représente toutes les valeurs.
+ */
+public class BinaryInstanceWriter {
+    private static final int CHUNK_BYTES = 1 << 16;
+    
+    public static void write(Instance instance, Path path) throws IOException {
+        write(instance, path, false);
+    }
+    
+    //deflate => fichier plus petit, mais le bloc des setups ne pourra plus être mappé au chargement
+    public static void write(Instance instance, Path path, boolean deflate) throws IOException {
+        int n = instance.getNumberOfJobs();
+        int m = instance.getNumberOfMachines();
+        SetupMatrix setups = instance.getSetupMatrix();
+        int width = cellWidth(setups);
+        
+        ByteBuffer header = ByteBuffer.allocate(BinaryInstanceFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(BinaryInstanceFormat.MAGIC);
+        header.putShort((short) BinaryInstanceFormat.VERSION);
+        header.putShort((short) (deflate ? BinaryInstanceFormat.FLAG_DEFLATE : 0));
+        header.putInt(n);
+        header.putInt(m);
+        header.put((byte) width); //+ 3 octets réservés, déjà à 0
+        
+        try (OutputStream file = Files.newOutputStream(path)) {
+            file.write(header.array());
+            OutputStream out = deflate ? new DeflaterOutputStream(file) : file;
+            WritableByteChannel channel = Channels.newChannel(out);
+            ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            
+            for (int j = 0; j < n; j++) {
+                putInt(chunk, channel, instance.releaseDate(j));
+            }
+            for (int k = 0; k < m; k++) {
+                for (int j = 0; j < n; j++) {
+                    putInt(chunk, channel, instance.processingTime(j, k));
+                }
+            }
+            for (int k = 0; k < m; k++) {
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        if (chunk.remaining() < width) {
+                            drain(chunk, channel);
+                        }
+                        int value = setups.get(i, j, k);
+                        switch (width) {
+                            case 1: chunk.put((byte) value); break;
+                            case 2: chunk.putShort((short) value); break;
+                            default: chunk.putInt(value);
+                        }
+                    }
+                }
+            }
+            drain(chunk, channel);
+            out.close(); //termine le flux deflate (et ferme le fichier)
+        }
+    }
+    
+    private static int cellWidth(SetupMatrix setups) {
+        if (setups.getCellBytes() < 4) {
+            return setups.getCellBytes(); //déjà compacte : sa largeur suit les valeurs
+        }
+        int width = 1;
+        int n = setups.getNumberOfJobs();
+        for (int k = 0; k < setups.getNumberOfMachines() && width < 4; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    width = Math.max(width, BinaryInstanceFormat.widthFor(setups.get(i, j, k)));
+                }
+            }
+        }
+        return width;
+    }
+    
+    private static void putInt(ByteBuffer chunk, WritableByteChannel channel, int value) throws IOException {
+        if (chunk.remaining() < Integer.BYTES) {
+            drain(chunk, channel);
+        }
+        chunk.putInt(value);
+    }
+    
+    private static void drain(ByteBuffer chunk, WritableByteChannel channel) throws IOException {
+        chunk.flip();
+        while (chunk.hasRemaining()) {
+            channel.write(chunk);
+        }
+        chunk.clear();
+    }
+}
@@ -0,0 +1,107 @@
+package utils;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+/**
+ * Écrit des Result en CSV depuis un seul thread dédié, à travers un BufferedWriter ouvert une fois
+ * pour toute la série (au lieu d'un FileWriter par run).
+ *
+ * write() peut être appelé depuis n'importe quel thread. La file est bornée : si l'écriture ne suit pas,
+ * write() attend (aucun résultat n'est perdu, contrairement aux lignes de la console).
+ *
+ * close() écrit ce qui reste dans la file, ferme le fichier, et relance la première erreur d'écriture.
+ */
+public class CsvResultWriter implements AutoCloseable {
+    private static final Result POISON = new Result("", 0, 0, 0);
+
+    private final BufferedWriter writer;
+    private final BlockingQueue<Result> queue;
+    private final Thread thread;
+    private volatile IOException error; //première erreur du thread d'écriture
+    private int written; //lu après join
+
+    public CsvResultWriter(String filename) throws IOException {
+        this(filename, false);
+    }
+
+    //append => pas d'en-tête si le fichier existe déjà et n'est pas vide
+    public CsvResultWriter(String filename, boolean append) throws IOException {
+        File file = new File(filename);
+        boolean header = !append || file.length() == 0;
+        this.writer = new BufferedWriter(new FileWriter(file, append), 1 << 16);
+        if (header) {
+            writer.write(Result.CSV_HEADER);
+            writer.newLine();
+        }
+        this.queue = new ArrayBlockingQueue<>(1024);
+        this.thread = new Thread(this::writeLoop, "csv-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public void write(Result result) {
+        if (error != null) {
+            throw new UncheckedIOException(error);
+        }
+        try {
+            queue.put(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queuing a result", e);
+        }
+    }
+
+    //nombre de lignes écrites (hors en-tête), valable après close
+    public int getWrittenCount() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            queue.put(POISON);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                Result result = queue.take();
+                if (result == POISON) {
+                    break;
+                }
+                //après une erreur on continue de vider la file, sinon les threads de calcul resteraient bloqués
+                if (error == null) {
+                    try {
+                        writer.write(result.toCsvRow());
+                        writer.newLine();
+                        written++;
+                        //on ne vide le tampon que quand la file est vide => lignes visibles sans un flush par run
+                        if (queue.isEmpty()) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            //arrêt demandé
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package utils;
+
+import domain.*;
+import java.io.*;
+import java.nio.file.*;
+
+/**
+ * Conversion texte <-> binaire. Le sens est détecté d'après le fichier d'entrée (magic "LAHC").
+ * 
+ * java utils.InstanceConverter input output [--deflate]
+ */
+public class InstanceConverter {
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: java utils.InstanceConverter <input> <output> [--deflate]");
+            System.exit(1);
+        }
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        boolean deflate = args.length > 2 && args[2].equals("--deflate");
+        
+        if (isBinary(input)) {
+            binaryToText(input, output);
+            System.out.println("binary -> text: " + output);
+        } else {
+            textToBinary(input, output, deflate);
+            System.out.println("text -> binary" + (deflate ? " (deflate)" : "") + ": " + output);
+        }
+    }
+    
+    public static void textToBinary(Path text, Path binary, boolean deflate) throws IOException {
+        Instance instance = InstanceReader.readFromFile(text.toString());
+        BinaryInstanceWriter.write(instance, binary, deflate);
+    }
+    
+    public static void binaryToText(Path binary, Path text) throws IOException {
+        writeText(BinaryInstanceReader.read(binary), text);
+    }
+    
+    //true si le fichier commence par le magic du format binaire
+    public static boolean isBinary(Path path) throws IOException {
+        byte[] magic = BinaryInstanceFormat.MAGIC;
+        try (InputStream in = Files.newInputStream(path)) {
+            for (byte b : magic) {
+                if (in.read() != (b & 0xFF)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    //format texte de InstanceReader (matrices des setups séparées par une ligne vide)
+    public static void writeText(Instance instance, Path path) throws IOException {
+        int n = instance.getNumberOfJobs();
+        int m = instance.getNumberOfMachines();
+        try (Writer out = Files.newBufferedWriter(path)) {
+            out.write(n + " " + m + "\n");
+            for (int j = 0; j < n; j++) {
+                out.write((j == 0 ? "" : " ") + instance.releaseDate(j));
+            }
+            out.write("\n");
+            for (int j = 0; j < n; j++) {
+                for (int k = 0; k < m; k++) {
+                    out.write((k == 0 ? "" : " ") + instance.processingTime(j, k));
+                }
+                out.write("\n");
+            }
+            for (int k = 0; k < m; k++) {
+                out.write("\n");
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        out.write((j == 0 ? "" : " ") + instance.setupTime(i, j, k));
+                    }
+                    out.write("\n");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package utils;
+
+import java.io.IOException;
+
+//fichier d'instance mal formé, avec la position du problème :
+//ligne et colonne (à partir de 1) pour le format texte, offset en octets pour le format binaire (-1 sinon)
+public class InstanceFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+    
+    private final String file;
+    private final long line;
+    private final long column;
+    private final long offset;
+    
+    public InstanceFormatException(String file, long line, long column, String message) {
+        super(file + ":" + line + ":" + column + ": " + message);
+        this.file = file;
+        this.line = line;
+        this.column = column;
+        this.offset = -1;
+    }
+    
+    public InstanceFormatException(String file, long offset, String message) {
+        super(file + "@" + offset + ": " + message);
+        this.file = file;
+        this.line = -1;
+        this.column = -1;
+        this.offset = offset;
+    }
+    
+    public String getFile() {
+        return file;
+    }
+    
+    public long getLine() {
+        return line;
+    }
+    
+    public long getColumn() {
+        return column;
+    }
+    
+    public long getOffset() {
+        return offset;
+    }
+}
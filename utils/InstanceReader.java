@@ -2,6 +2,7 @@ package utils;
 
 import domain.*;
 import java.io.*;
+import java.nio.file.*;
 import java.util.*;
 
 
@@ -17,54 +18,67 @@ public class InstanceReader {
      * Lignes suivantes: setupTimes pour chaque machine (matrices n x n x m)
      */
     public static Instance readFromFile(String filename) throws IOException {
-        BufferedReader reader = new BufferedReader(new FileReader(filename));
-        
-        try {
+        return readFromFile(filename, SetupMatrix.Backend.HEAP);
+    }
+    
+    //same, but the setup times are loaded straight into the given backend (OFF_HEAP / MAPPED for big instances)
+    //lecture en flux (IntTokenizer) : pas de String par valeur, les retours à la ligne ne sont que des blancs
+    //un fichier mal formé lève une InstanceFormatException avec la ligne et la colonne
+    public static Instance readFromFile(String filename, SetupMatrix.Backend backend) throws IOException {
+        try (IntTokenizer tokens = new IntTokenizer(Paths.get(filename))) {
             //dimensions
-            String[] dims = reader.readLine().trim().split("\\s+");
-            int numJobs = Integer.parseInt(dims[0]);
-            int numMachines = Integer.parseInt(dims[1]);
+            int numJobs = tokens.nextInt("number of jobs");
+            int numMachines = tokens.nextInt("number of machines");
+            if (numJobs == 0 || numMachines == 0) {
+                throw new InstanceFormatException(filename, 1, 1, "an instance needs at least one job and one machine");
+            }
             
             //release dates
-            String[] rdates = reader.readLine().trim().split("\\s+");
             int[] releaseDates = new int[numJobs];
             for (int i = 0; i < numJobs; i++) {
-                releaseDates[i] = Integer.parseInt(rdates[i]);
+                releaseDates[i] = tokens.nextInt("release date");
             }
             
-            Instance instance = new Instance(numJobs, numMachines, releaseDates);
+            Instance instance = new Instance(SetupMatrix.create(backend, numJobs, numMachines), releaseDates);
             
             //reading processing times (n lignes de m valeurs)
             for (int j = 0; j < numJobs; j++) {
-                String[] times = reader.readLine().trim().split("\\s+");
                 for (int m = 0; m < numMachines; m++) {
-                    instance.setProcessingTime(j, m, Integer.parseInt(times[m]));
+                    instance.setProcessingTime(j, m, tokens.nextInt("processing time"));
                 }
             }
             
-            //reading setup times pour chaque machine
+            //reading setup times pour chaque machine (matrices n x n, séparées par une ligne vide)
+            SetupMatrix setups = instance.getSetupMatrix();
             for (int m = 0; m < numMachines; m++) {
-                reader.readLine(); //FIX 
-                
                 for (int i = 0; i < numJobs; i++) {
-                    String[] times = reader.readLine().trim().split("\\s+");
                     for (int j = 0; j < numJobs; j++) {
-                        instance.setSetupTime(i, j, m, Integer.parseInt(times[j]));
+                        setups.set(i, j, m, tokens.nextInt("setup time"));
                     }
                 }
             }
             
+            if (!tokens.atEnd()) {
+                throw new InstanceFormatException(filename, tokens.getLine(), tokens.getColumn(), "unexpected data after the last setup matrix");
+            }
             return instance;
-            
-        } finally {
-            reader.close();
         }
     }
     
     //random instance generator thks to the paper's protocol & copilot
     public static Instance createRandomInstance(int numJobs, int numMachines,  int maxProcessingTime, int maxSetupTime, double releaseFactor) 
         {
-        Random random = new Random();
+        return createRandomInstance(numJobs, numMachines, maxProcessingTime, maxSetupTime, releaseFactor, new Random());
+    }
+    
+    //same with a seed => always the same instance (benchmarks, reproducible runs)
+    public static Instance createRandomInstance(int numJobs, int numMachines,  int maxProcessingTime, int maxSetupTime, double releaseFactor, long seed) 
+        {
+        return createRandomInstance(numJobs, numMachines, maxProcessingTime, maxSetupTime, releaseFactor, new Random(seed));
+    }
+    
+    private static Instance createRandomInstance(int numJobs, int numMachines,  int maxProcessingTime, int maxSetupTime, double releaseFactor, Random random) 
+        {
         
         // generates release dates selon le protocole du papier
         int[] releaseDates = new int[numJobs];
@@ -0,0 +1,128 @@
+package utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Lit des entiers >= 0 séparés par des blancs (espaces, tabulations, fins de ligne) directement
+ * depuis un FileChannel, par blocs dans un buffer réutilisé : aucune String, aucune regex.
+ * 
+ * Garde la ligne et la colonne courantes pour des messages d'erreur précis (InstanceFormatException).
+ */
+public class IntTokenizer implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    
+    private final String name;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] bytes = buffer.array();
+    private int position; //prochain octet à lire dans bytes
+    private int limit;    //nombre d'octets valides dans bytes
+    
+    private long line = 1;
+    private long column = 1; //colonne du prochain octet
+    
+    public IntTokenizer(Path path) throws IOException {
+        this.name = path.toString();
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+    
+    //prochain entier ; what décrit la valeur attendue (message d'erreur uniquement)
+    public int nextInt(String what) throws IOException {
+        int b = skipBlanks();
+        if (b < 0) {
+            throw error(line, column, "unexpected end of file, expected " + what);
+        }
+        long startLine = line;
+        long startColumn = column;
+        if (b < '0' || b > '9') {
+            throw error(startLine, startColumn, "expected " + what + " (non-negative integer), found '" + printable(b) + "'");
+        }
+        
+        //boucle chaude : les chiffres ne changent jamais de ligne, on lit le tableau directement
+        long value = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                b = -1;
+                break;
+            }
+            b = bytes[position] & 0xFF;
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = value * 10 + (b - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw error(startLine, startColumn, what + " does not fit in an int");
+            }
+            position++;
+            column++;
+        }
+        if (b >= 0 && !isBlank(b)) {
+            throw error(line, column, "unexpected character '" + printable(b) + "' in " + what);
+        }
+        return (int) value;
+    }
+    
+    //true s'il ne reste que des blancs
+    public boolean atEnd() throws IOException {
+        return skipBlanks() < 0;
+    }
+    
+    public long getLine() {
+        return line;
+    }
+    
+    public long getColumn() {
+        return column;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    //saute les blancs et retourne le prochain octet sans le consommer (-1 en fin de fichier)
+    private int skipBlanks() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            byte b = bytes[position];
+            if (b == ' ' || b == '\t' || b == '\r') {
+                position++;
+                column++;
+            } else if (b == '\n') {
+                position++;
+                line++;
+                column = 1;
+            } else {
+                return b & 0xFF;
+            }
+        }
+    }
+    
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+    
+    private static boolean isBlank(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+    
+    private static String printable(int b) {
+        return (b >= 0x20 && b < 0x7F) ? String.valueOf((char) b) : String.format("\\x%02x", b);
+    }
+    
+    private InstanceFormatException error(long atLine, long atColumn, String message) {
+        return new InstanceFormatException(name, atLine, atColumn, message);
+    }
+}
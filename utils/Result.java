@@ -1,35 +1,138 @@
 package utils;
 
+import java.util.Locale;
+
 //classe pour stocker les résultats d'une exécution
+//immutable => peut passer d'un thread à l'autre (runs en parallèle -> thread d'écriture CSV)
 public class Result {
+    //colonnes de toCsvRow
+    public static final String CSV_HEADER =
+        "run_id,instance,jobs,machines,seed,replication,initial_makespan,final_makespan,improvement_pct,"
+      + "iterations,last_improvement_iter,evaluations,construction_ms,search_ms,total_ms,stop_reason";
+
     private final String instanceName;
-    private final int makespan;
-    private final long computationTime;
+    private final int makespan; //makespan final
+    private final long computationTime; //ms, toutes phases confondues
     private final int iterations;
-    
+
+    //détails d'un run (batch), 0 / -1 / null s'ils ne sont pas connus
+    private final int runId;
+    private final int numberOfJobs;
+    private final int numberOfMachines;
+    private final long seed;
+    private final int replication;
+    private final int initialMakespan;
+    private final int lastImprovementIteration;
+    private final long evaluations;
+    private final long constructionTimeNanos;
+    private final long searchTimeNanos;
+    private final String stopReason;
+
     public Result(String instanceName, int makespan, long computationTime, int iterations) {
+        this(-1, instanceName, 0, 0, 0, 0, makespan, makespan, iterations, 0, 0,
+             0, computationTime * 1_000_000L, null);
+    }
+
+    public Result(int runId, String instanceName, int numberOfJobs, int numberOfMachines, long seed, int replication,
+                  int initialMakespan, int finalMakespan, int iterations, int lastImprovementIteration, long evaluations,
+                  long constructionTimeNanos, long searchTimeNanos, String stopReason) {
+        this.runId = runId;
         this.instanceName = instanceName;
-        this.makespan = makespan;
-        this.computationTime = computationTime;
+        this.numberOfJobs = numberOfJobs;
+        this.numberOfMachines = numberOfMachines;
+        this.seed = seed;
+        this.replication = replication;
+        this.initialMakespan = initialMakespan;
+        this.makespan = finalMakespan;
         this.iterations = iterations;
+        this.lastImprovementIteration = lastImprovementIteration;
+        this.evaluations = evaluations;
+        this.constructionTimeNanos = constructionTimeNanos;
+        this.searchTimeNanos = searchTimeNanos;
+        this.computationTime = (constructionTimeNanos + searchTimeNanos) / 1_000_000;
+        this.stopReason = stopReason;
     }
-    
+
     public String getInstanceName() {
         return instanceName;
     }
-    
+
     public int getMakespan() {
         return makespan;
     }
-    
+
     public long getComputationTime() {
         return computationTime;
     }
-    
+
     public int getIterations() {
         return iterations;
     }
-    
+
+    public int getRunId() {
+        return runId;
+    }
+
+    public int getNumberOfJobs() {
+        return numberOfJobs;
+    }
+
+    public int getNumberOfMachines() {
+        return numberOfMachines;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getReplication() {
+        return replication;
+    }
+
+    public int getInitialMakespan() {
+        return initialMakespan;
+    }
+
+    public int getFinalMakespan() {
+        return makespan;
+    }
+
+    public double getImprovementPercent() {
+        return (initialMakespan == 0) ? 0 : 100.0 * (initialMakespan - makespan) / initialMakespan;
+    }
+
+    public int getLastImprovementIteration() {
+        return lastImprovementIteration;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    //phases : construction (heuristique initiale) puis recherche
+    public long getConstructionTimeNanos() {
+        return constructionTimeNanos;
+    }
+
+    public long getSearchTimeNanos() {
+        return searchTimeNanos;
+    }
+
+    public String getStopReason() {
+        return stopReason;
+    }
+
+    //une ligne CSV (sans retour à la ligne), même ordre que CSV_HEADER
+    //Locale.ROOT => toujours un point décimal, sinon les colonnes se décalent en locale française
+    public String toCsvRow() {
+        return String.format(Locale.ROOT, "%d,%s,%d,%d,%d,%d,%d,%d,%.2f,%d,%d,%d,%.3f,%.3f,%d,%s",
+                             runId, instanceName, numberOfJobs, numberOfMachines, seed, replication,
+                             initialMakespan, makespan, getImprovementPercent(),
+                             iterations, lastImprovementIteration, evaluations,
+                             constructionTimeNanos / 1e6, searchTimeNanos / 1e6, computationTime,
+                             (stopReason == null) ? "" : stopReason);
+    }
+
     @Override
     public String toString() {
         return String.format("Result[%s: Cmax=%d, Time=%dms, Iter=%d]",